@@ -22,6 +22,11 @@ import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
 @JsonTypeName("execution")
 public class Execution {
 
+    /**
+     * URI string containing template link to the {@code /executeAfm} resource.
+     */
+    public static final String URI = "/gdc/app/projects/{projectId}/executeAfm";
+
     private final Afm afm;
     private ResultSpec resultSpec;
 
@@ -25,6 +25,11 @@ import java.util.List;
 @JsonTypeName("visualizationExecution")
 public class VisualizationExecution {
 
+    /**
+     * URI string containing template link to the {@code /executeVisualization} resource.
+     */
+    public static final String URI = "/gdc/app/projects/{projectId}/executeVisualization";
+
     private final String reference;
     private List<CompatibilityFilter> filters;
     private ResultSpec resultSpec;
@@ -10,6 +10,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
 
+import java.util.Objects;
+
 import static com.gooddata.sdk.model.executeafm.result.AttributeHeaderItem.NAME;
 
 /**
@@ -44,4 +46,17 @@ public class AttributeHeaderItem extends ResultHeaderItem {
     public String toString() {
         return GoodDataToStringBuilder.defaultToString(this);
     }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final AttributeHeaderItem that = (AttributeHeaderItem) o;
+        return Objects.equals(getName(), that.getName()) && Objects.equals(uri, that.uri);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), uri);
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Compact columnar representation of {@link ExecutionResult} data. Values of each column are stored in primitive
+ * {@code double} array accompanied by {@link BitSet} of null values.
+ * <p>
+ * Result with two dimensions is represented by rows of the first dimension and columns of the second one,
+ * result with single dimension is represented by one row.
+ *
+ * @see ExecutionResult#getColumnarData()
+ */
+public class ColumnarData {
+
+    private final boolean twoDimensional;
+    private final int rowCount;
+    private final double[][] columns;
+    private final BitSet[] nulls;
+
+    private ColumnarData(final boolean twoDimensional, final int rowCount, final int columnCount) {
+        this.twoDimensional = twoDimensional;
+        this.rowCount = rowCount;
+        this.columns = new double[columnCount][rowCount];
+        this.nulls = new BitSet[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            nulls[column] = new BitSet(rowCount);
+        }
+    }
+
+    /**
+     * Converts the given data to columnar representation.
+     *
+     * @param data data of single or two dimensions containing numeric values
+     * @return columnar data
+     * @throws IllegalStateException when the data contain non-numeric value
+     */
+    static ColumnarData of(final List<Data> data) {
+        notNull(data, "data");
+        if (data.isEmpty() || !data.get(0).isList()) {
+            final ColumnarData result = new ColumnarData(false, data.isEmpty() ? 0 : 1, data.size());
+            for (int column = 0; column < data.size(); column++) {
+                result.set(0, column, data.get(column));
+            }
+            return result;
+        }
+        final int columnCount = data.stream().mapToInt(row -> row.isList() ? row.asList().size() : 0).max().orElse(0);
+        final ColumnarData result = new ColumnarData(true, data.size(), columnCount);
+        for (int row = 0; row < data.size(); row++) {
+            final List<Data> values = data.get(row).isList() ? data.get(row).asList() : null;
+            for (int column = 0; column < columnCount; column++) {
+                result.set(row, column, values != null && column < values.size() ? values.get(column) : Data.NULL);
+            }
+        }
+        return result;
+    }
+
+    private void set(final int row, final int column, final Data value) {
+        if (value == null || value.isNull()) {
+            columns[column][row] = Double.NaN;
+            nulls[column].set(row);
+        } else if (value.isValue()) {
+            try {
+                columns[column][row] = Double.parseDouble(value.textValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Data contain non-numeric value " + value.textValue(), e);
+            }
+        } else {
+            throw new IllegalStateException("Data contain unexpected nested list at row " + row);
+        }
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of columns
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return value at the given position, {@code NaN} for null value
+     */
+    public double getValue(final int row, final int column) {
+        return columns[column][row];
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return true if the value at the given position is null
+     */
+    public boolean isNull(final int row, final int column) {
+        return nulls[column].get(row);
+    }
+
+    /**
+     * Returns values of the given column. The returned array is backing this instance and must not be modified.
+     *
+     * @param column column index
+     * @return column values, null values are represented by {@code NaN}
+     */
+    public double[] getColumn(final int column) {
+        return columns[column];
+    }
+
+    /**
+     * Returns null values of the given column. The returned bitmap is backing this instance and must not be modified.
+     *
+     * @param column column index
+     * @return bitmap having set bits for rows containing null value
+     */
+    public BitSet getNulls(final int column) {
+        return nulls[column];
+    }
+
+    /**
+     * Converts this columnar data back to data list, the values are formatted as plain decimal numbers.
+     *
+     * @return new data list
+     */
+    DataList toDataList() {
+        if (!twoDimensional) {
+            return rowCount == 0 ? new DataList(new ArrayList<>()) : toRow(0);
+        }
+        final List<Data> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(toRow(row));
+        }
+        return new DataList(rows);
+    }
+
+    private DataList toRow(final int row) {
+        final List<Data> values = new ArrayList<>(columns.length);
+        for (int column = 0; column < columns.length; column++) {
+            values.add(isNull(row, column) ? Data.NULL : new DataValue(format(getValue(row, column))));
+        }
+        return new DataList(values);
+    }
+
+    private static String format(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.toString(value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
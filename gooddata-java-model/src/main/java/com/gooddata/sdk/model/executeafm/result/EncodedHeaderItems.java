@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Dictionary encoded list of header items of single result header. Each distinct item is stored once
+ * in the dictionary and the positions refer to it by index.
+ *
+ * @see ExecutionResult#getEncodedHeaderItems()
+ */
+public class EncodedHeaderItems {
+
+    private final List<ResultHeaderItem> dictionary;
+    private final int[] indexes;
+
+    private EncodedHeaderItems(final List<ResultHeaderItem> dictionary, final int[] indexes) {
+        this.dictionary = dictionary;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Encodes the given header items.
+     *
+     * @param items header items
+     * @return encoded header items
+     */
+    static EncodedHeaderItems encode(final List<ResultHeaderItem> items) {
+        notNull(items, "items");
+        final Map<ResultHeaderItem, Integer> positions = new HashMap<>();
+        final List<ResultHeaderItem> dictionary = new ArrayList<>();
+        final int[] indexes = new int[items.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = positions.computeIfAbsent(items.get(i), item -> {
+                dictionary.add(item);
+                return dictionary.size() - 1;
+            });
+        }
+        return new EncodedHeaderItems(Collections.unmodifiableList(dictionary), indexes);
+    }
+
+    /**
+     * @return distinct header items
+     */
+    public List<ResultHeaderItem> getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return copy of indexes to {@link #getDictionary() dictionary} for each position
+     */
+    public int[] getIndexes() {
+        return indexes.clone();
+    }
+
+    /**
+     * @param position position of the header item
+     * @return index to {@link #getDictionary() dictionary} of the header item at the given position
+     */
+    public int getIndex(final int position) {
+        return indexes[position];
+    }
+
+    /**
+     * @return number of header items
+     */
+    public int size() {
+        return indexes.length;
+    }
+
+    /**
+     * @param position position of the header item
+     * @return header item at the given position
+     */
+    public ResultHeaderItem get(final int position) {
+        return dictionary.get(getIndex(position));
+    }
+
+    /**
+     * @return unmodifiable list view of the header items
+     */
+    public List<ResultHeaderItem> asList() {
+        return new AbstractList<ResultHeaderItem>() {
+            @Override
+            public ResultHeaderItem get(final int index) {
+                return EncodedHeaderItems.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return EncodedHeaderItems.this.size();
+            }
+        };
+    }
+}
@@ -6,6 +6,7 @@
 package com.gooddata.sdk.model.executeafm.result;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -17,23 +18,33 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Data result of the {@link Execution}.
+ * <p>
+ * The lazily created representations ({@link #getColumnarData()}, {@link #getEncodedHeaderItems()} and the views
+ * of {@link #compact() compacted} result) are safe to be read by multiple threads, the setters are not.
  */
 @JsonTypeInfo(include = JsonTypeInfo.As.WRAPPER_OBJECT, use = JsonTypeInfo.Id.NAME)
 @JsonTypeName("executionResult")
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ExecutionResult {
 
-    private final DataList data;
+    private DataList data;
     private final Paging paging;
 
     private List<List<List<ResultHeaderItem>>> headerItems;
+    private ColumnarData columnarData;
+    private List<List<EncodedHeaderItems>> encodedHeaderItems;
     private List<List<List<String>>> totals;
     private List<List<List<String>>> totalTotals;
     private List<Warning> warnings;
 
+    private DataList dataView;
+    private List<List<List<ResultHeaderItem>>> headerItemsView;
+
     /**
      * Creates new result
      * @param data result data
@@ -54,6 +65,16 @@ public class ExecutionResult {
         this.paging = notNull(paging, "paging");
     }
 
+    /**
+     * Creates new result
+     * @param data result data
+     * @param paging result paging
+     */
+    public ExecutionResult(final DataList data, final Paging paging) {
+        this.data = notNull(data, "data");
+        this.paging = notNull(paging, "paging");
+    }
+
     /**
      * Creates new result
      * @param data result data
@@ -77,12 +98,78 @@ public class ExecutionResult {
     }
 
     /**
+     * Returns result data.
+     * <p>
+     * When this result was {@link #compact() compacted}, data list is created from the
+     * {@link #getColumnarData() columnar data} on the first call and kept for the subsequent ones, so prefer the
+     * columnar data when the result should stay compact. Such view is lossy: the values are plain decimal forms
+     * of the parsed numbers (e.g. {@code "1.50"} becomes {@code "1.5"}), not the original strings of the API
+     * response.
+     *
      * @return result data
      */
-    public DataList getData() {
+    public synchronized DataList getData() {
+        if (data == null && columnarData != null) {
+            if (dataView == null) {
+                dataView = columnarData.toDataList();
+            }
+            return dataView;
+        }
         return data;
     }
 
+    /**
+     * Returns compact columnar representation of result data, which is lazily created on the first call.
+     *
+     * @return columnar data or null when the result has no data
+     * @throws IllegalStateException when the data contain non-numeric value
+     */
+    @JsonIgnore
+    public synchronized ColumnarData getColumnarData() {
+        if (columnarData == null && data != null) {
+            columnarData = ColumnarData.of(data);
+        }
+        return columnarData;
+    }
+
+    /**
+     * Returns dictionary encoded header items, which are lazily created on the first call.
+     * For each header in each dimension, there are encoded header items.
+     *
+     * @return encoded header items or null when the result has no header items
+     */
+    @JsonIgnore
+    public synchronized List<List<EncodedHeaderItems>> getEncodedHeaderItems() {
+        if (encodedHeaderItems == null && headerItems != null) {
+            encodedHeaderItems = unmodifiableList(headerItems.stream()
+                    .map(dimension -> unmodifiableList(dimension.stream()
+                            .map(EncodedHeaderItems::encode)
+                            .collect(toList())))
+                    .collect(toList()));
+        }
+        return encodedHeaderItems;
+    }
+
+    /**
+     * Converts data and header items to their {@link #getColumnarData() columnar} and
+     * {@link #getEncodedHeaderItems() encoded} representations and releases the original ones, which reduces
+     * memory needed to keep the result. The {@link #getData()} and {@link #getHeaderItems()} remain available
+     * as views of the compact representations, created on their first call. The data view doesn't keep
+     * the original string form of the values, see {@link #getData()}.
+     *
+     * @return this result
+     * @throws IllegalStateException when the data contain non-numeric value
+     */
+    public synchronized ExecutionResult compact() {
+        getColumnarData();
+        getEncodedHeaderItems();
+        data = null;
+        headerItems = null;
+        dataView = null;
+        headerItemsView = null;
+        return this;
+    }
+
     /**
      * @return result paging
      */
@@ -91,9 +178,20 @@ public class ExecutionResult {
     }
 
     /**
+     * Returns header items. When this result was {@link #compact() compacted}, the lists are created from the
+     * {@link #getEncodedHeaderItems() encoded header items} on the first call and kept for the subsequent ones.
+     *
      * @return header items, for each header in each dimension, there is a list of header items
      */
-    public List<List<List<ResultHeaderItem>>> getHeaderItems() {
+    public synchronized List<List<List<ResultHeaderItem>>> getHeaderItems() {
+        if (headerItems == null && encodedHeaderItems != null) {
+            if (headerItemsView == null) {
+                headerItemsView = encodedHeaderItems.stream()
+                        .map(dimension -> dimension.stream().map(EncodedHeaderItems::asList).collect(toList()))
+                        .collect(toList());
+            }
+            return headerItemsView;
+        }
         return headerItems;
     }
 
@@ -101,18 +199,22 @@ public class ExecutionResult {
      * Sets header items, for each header in each dimension, there is a list of header items
      * @param headerItems header items
      */
-    public void setHeaderItems(final List<List<List<ResultHeaderItem>>> headerItems) {
+    public synchronized void setHeaderItems(final List<List<List<ResultHeaderItem>>> headerItems) {
         this.headerItems = headerItems;
+        this.encodedHeaderItems = null;
+        this.headerItemsView = null;
     }
 
     /**
      * Add header items for next dimension (this method will add dimension in header items)
      * @param items header items for one dimension
      */
-    public void addHeaderItems(final List<List<ResultHeaderItem>> items) {
+    public synchronized void addHeaderItems(final List<List<ResultHeaderItem>> items) {
         if (headerItems == null) {
-            setHeaderItems(new ArrayList<>());
+            final List<List<List<ResultHeaderItem>>> compacted = getHeaderItems();
+            setHeaderItems(compacted == null ? new ArrayList<>() : new ArrayList<>(compacted));
         }
+        encodedHeaderItems = null;
         headerItems.add(items);
     }
 
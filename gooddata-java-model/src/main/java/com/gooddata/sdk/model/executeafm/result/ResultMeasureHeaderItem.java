@@ -9,6 +9,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
+import java.util.Objects;
+
 import static com.gooddata.sdk.model.executeafm.result.ResultMeasureHeaderItem.NAME;
 
 /**
@@ -38,4 +40,17 @@ public class ResultMeasureHeaderItem extends ResultHeaderItem {
     public int getOrder() {
         return order;
     }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ResultMeasureHeaderItem that = (ResultMeasureHeaderItem) o;
+        return Objects.equals(getName(), that.getName()) && order == that.order;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), order);
+    }
 }
@@ -10,6 +10,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 import com.gooddata.sdk.model.md.report.Total;
 
+import java.util.Objects;
+
 import static com.gooddata.sdk.model.executeafm.result.ResultTotalHeaderItem.NAME;
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
@@ -67,4 +69,17 @@ public class ResultTotalHeaderItem extends ResultHeaderItem {
     public String getType() {
         return type;
     }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ResultTotalHeaderItem that = (ResultTotalHeaderItem) o;
+        return Objects.equals(getName(), that.getName()) && Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getName(), type);
+    }
 }
@@ -5,6 +5,7 @@
  */
 package com.gooddata.sdk.model.executeafm.result
 
+import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
@@ -31,4 +32,9 @@ class AttributeHeaderItemTest extends Specification {
         item.name == 'Cost of Goods Sold'
         item.uri == '/gdc/md/FoodMartDemo/obj/124/elements?id=3200'
     }
+
+    def "should verify equals"() {
+        expect:
+        EqualsVerifier.forClass(AttributeHeaderItem).usingGetClass().verify()
+    }
 }
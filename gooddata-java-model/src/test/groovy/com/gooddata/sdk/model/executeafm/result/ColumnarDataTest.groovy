@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result
+
+import spock.lang.Specification
+
+class ColumnarDataTest extends Specification {
+
+    def "should convert two dimensional data"() {
+        when:
+        ColumnarData columnar = ColumnarData.of(new DataList([['1.5', '2'], [null, '-3']] as String[][]))
+
+        then:
+        columnar.rowCount == 2
+        columnar.columnCount == 2
+        columnar.getColumn(0)[0] == 1.5d
+        Double.isNaN(columnar.getColumn(0)[1])
+        columnar.getColumn(1) == [2d, -3d] as double[]
+        columnar.isNull(1, 0)
+        !columnar.isNull(0, 0)
+        columnar.getNulls(0).cardinality() == 1
+        columnar.getValue(1, 1) == -3d
+    }
+
+    def "should convert single dimensional data to one row"() {
+        when:
+        ColumnarData columnar = ColumnarData.of(new DataList(['1', null, '3'] as String[]))
+
+        then:
+        columnar.rowCount == 1
+        columnar.columnCount == 3
+        columnar.getValue(0, 2) == 3d
+        columnar.isNull(0, 1)
+    }
+
+    def "should convert empty data"() {
+        when:
+        ColumnarData columnar = ColumnarData.of(new DataList([] as String[]))
+
+        then:
+        columnar.rowCount == 0
+        columnar.columnCount == 0
+        columnar.toDataList().isEmpty()
+    }
+
+    def "should convert back to data list"() {
+        given:
+        def data = new DataList([['-12958511.8099999', '25315434.82'], [null, '1234']] as String[][])
+
+        expect:
+        ColumnarData.of(data).toDataList() == data
+        ColumnarData.of(new DataList(['1', null] as String[])).toDataList() == new DataList(['1', null] as String[])
+    }
+
+    def "should fail on non-numeric value"() {
+        when:
+        ColumnarData.of(new DataList(['abc'] as String[]))
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -105,4 +105,67 @@ class ExecutionResultTest extends Specification {
 
         result.getWarnings() == [new Warning('gdc123', 'Some msg %s %s %s', ['bum', 1, null])]
     }
+
+    def "should provide columnar data and encoded header items"() {
+        given:
+        ExecutionResult result = readObjectFromResource("/$EXECUTION_RESULT_FULL_JSON", ExecutionResult)
+        result.addHeaderItems([[new AttributeHeaderItem('a', 'u'), new AttributeHeaderItem('b', 'v'),
+                                new AttributeHeaderItem('a', 'u')]])
+
+        when:
+        ColumnarData columnar = result.columnarData
+        EncodedHeaderItems encoded = result.encodedHeaderItems[2][0]
+
+        then:
+        columnar.rowCount == 2
+        columnar.getColumn(3) == [-7252542.67d, 9999d] as double[]
+        encoded.dictionary*.name == ['a', 'b']
+        encoded.indexes == [0, 1, 0] as int[]
+        encoded.get(2).name == 'a'
+        encoded.getIndex(1) == 1
+    }
+
+    def "should compact"() {
+        given:
+        ExecutionResult result = readObjectFromResource("/$EXECUTION_RESULT_FULL_JSON", ExecutionResult)
+        def data = result.data
+        def headerItems = result.headerItems
+
+        when:
+        result.compact()
+
+        then:
+        result.data == data
+        result.headerItems == headerItems
+        that result, jsonEquals(resource(EXECUTION_RESULT_FULL_JSON))
+
+        when:
+        result.addHeaderItems([[new AttributeHeaderItem('n', 'u')]])
+
+        then:
+        result.headerItems.size() == 3
+        result.headerItems[0] == headerItems[0]
+        result.encodedHeaderItems.size() == 3
+    }
+
+    def "should serve plain decimal values after compact"() {
+        given:
+        ExecutionResult result = new ExecutionResult(['1.50', '2'] as String[], new Paging())
+
+        when:
+        result.compact()
+
+        then:
+        result.data*.textValue() == ['1.5', '2']
+        result.data.is(result.data)
+    }
+
+    def "should keep views of compacted result"() {
+        given:
+        ExecutionResult result = readObjectFromResource("/$EXECUTION_RESULT_FULL_JSON", ExecutionResult).compact()
+
+        expect:
+        result.data.is(result.data)
+        result.headerItems.is(result.headerItems)
+    }
 }
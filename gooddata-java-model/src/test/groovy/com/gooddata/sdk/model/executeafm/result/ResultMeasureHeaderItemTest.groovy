@@ -5,6 +5,7 @@
  */
 package com.gooddata.sdk.model.executeafm.result
 
+import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
@@ -30,4 +31,9 @@ class ResultMeasureHeaderItemTest extends Specification {
         item.name == 'Measure Name'
         item.order == 1
     }
+
+    def "should verify equals"() {
+        expect:
+        EqualsVerifier.forClass(ResultMeasureHeaderItem).usingGetClass().verify()
+    }
 }
@@ -6,6 +6,7 @@
 package com.gooddata.sdk.model.executeafm.result
 
 import com.gooddata.sdk.model.md.report.Total
+import nl.jqno.equalsverifier.EqualsVerifier
 import spock.lang.Specification
 
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
@@ -44,4 +45,9 @@ class ResultTotalHeaderItemTest extends Specification {
             type == 'sum'
         }
     }
+
+    def "should verify equals"() {
+        expect:
+        EqualsVerifier.forClass(ResultTotalHeaderItem).usingGetClass().verify()
+    }
 }
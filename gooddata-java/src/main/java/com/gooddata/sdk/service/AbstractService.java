@@ -15,6 +15,8 @@ import com.gooddata.sdk.common.GoodDataRestException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpMessageConverterExtractor;
@@ -25,7 +27,15 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Parent for GoodData services providing helpers for REST API calls and polling.
@@ -53,25 +63,180 @@ public abstract class AbstractService {
     }
 
     final <R> R poll(final PollHandler<?,R> handler, long timeout, final TimeUnit unit) {
-        notNull(handler, "handler");
-        final long start = System.currentTimeMillis();
-        while (true) {
-            if (pollOnce(handler)) {
-                return handler.getResult();
+        final CompletableFuture<R> future = pollAsync(handler, timeout, unit);
+        try {
+            return await(future, 0, null);
+        } finally {
+            // stops polling when the waiting was interrupted, no-op otherwise
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Waits for the given polling future to complete, translating the failures the same way as
+     * {@link FutureResult#get(long, TimeUnit)} does.
+     *
+     * @param future  future to wait for
+     * @param timeout timeout value
+     * @param unit    timeout unit, no timeout is applied when null
+     * @param <R>     result type
+     * @return result of the future
+     */
+    protected static <R> R await(final CompletableFuture<R> future, final long timeout, final TimeUnit unit) {
+        try {
+            return unit == null ? future.get() : future.get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoodDataException("interrupted");
+        } catch (TimeoutException e) {
+            throw new GoodDataException("timeout");
+        } catch (CancellationException e) {
+            throw new GoodDataException("Polling was cancelled", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
-            if (unit != null && start + unit.toMillis(timeout) < System.currentTimeMillis()) {
-                throw new GoodDataException("timeout");
+            throw new GoodDataException("Polling failed", cause);
+        }
+    }
+
+    /**
+     * Starts polling using the given handler on the {@link PollScheduler} configured in settings
+     * (or {@link PollScheduler#getDefault()}). The calling thread is not blocked.
+     *
+     * @param handler poll handler
+     * @param timeout timeout value
+     * @param unit    timeout unit, no timeout is applied when null
+     * @param <R>     result type
+     * @return future completed by the handler result, cancelling it stops the polling
+     */
+    final <R> CompletableFuture<R> pollAsync(final PollHandler<?,R> handler, long timeout, final TimeUnit unit) {
+        notNull(handler, "handler");
+        return getPollScheduler().schedule(this, handler, getBackoffStrategy(handler), timeout, unit);
+    }
+
+    /**
+     * Starts polling the given URI on the {@link PollScheduler} configured in settings
+     * (or {@link PollScheduler#getDefault()}) until it responds by other status than {@code 202 Accepted}.
+     * The final response is passed to the given extractor on the request thread, so it can be read as a stream
+     * without buffering. The calling thread is not blocked.
+     *
+     * @param uri             URI to poll
+     * @param extractor       extractor of the final response
+     * @param backoff         strategy computing delays between poll requests not specifying {@code Retry-After}
+     * @param timeout         timeout value
+     * @param unit            timeout unit, no timeout is applied when null
+     * @param requestExecutor executor of the poll requests, the {@link AsyncRequestExecutor} configured in settings
+     *                        (or {@link AsyncRequestExecutor#getDefault()}) is used when null
+     * @param <T>             result type
+     * @return future completed by the extracted result, cancelling it stops the polling
+     */
+    protected final <T> CompletableFuture<T> pollAsync(final URI uri, final ResponseExtractor<T> extractor,
+                                                      final PollBackoffStrategy backoff,
+                                                      final long timeout, final TimeUnit unit,
+                                                      final Executor requestExecutor) {
+        notNull(uri, "uri");
+        notNull(extractor, "extractor");
+        notNull(backoff, "backoff");
+        final Executor executor = requestExecutor != null ? requestExecutor : getRequestExecutor();
+        return getPollScheduler().schedule(executor, new PollScheduler.PollRequest<T>() {
+            private T result;
+
+            @Override
+            public boolean poll(final Consumer<HttpHeaders> headersConsumer) {
+                return Boolean.TRUE.equals(restTemplate.execute(uri, GET, null, response -> {
+                    headersConsumer.accept(response.getHeaders());
+                    if (HttpStatus.ACCEPTED.equals(response.getStatusCode())) {
+                        return false;
+                    }
+                    result = extractor.extractData(response);
+                    return true;
+                }));
             }
 
-            try {
-                Thread.sleep(settings.getPollSleep());
-            } catch (InterruptedException e) {
-                throw new GoodDataException("interrupted");
+            @Override
+            public T getResult() {
+                return result;
             }
+        }, backoff, timeout, unit);
+    }
+
+    private PollScheduler getPollScheduler() {
+        return settings.getPollScheduler() != null ? settings.getPollScheduler() : PollScheduler.getDefault();
+    }
+
+    private AsyncRequestExecutor getAsyncRequestExecutor() {
+        return settings.getAsyncRequestExecutor() != null
+                ? settings.getAsyncRequestExecutor() : AsyncRequestExecutor.getDefault();
+    }
+
+    /**
+     * @return executor of the requests issued by {@link #executeAsync(Supplier)} and polling
+     */
+    final Executor getRequestExecutor() {
+        return getAsyncRequestExecutor().getExecutor();
+    }
+
+    /**
+     * Executes the given call on the {@link AsyncRequestExecutor} configured in settings
+     * (or {@link AsyncRequestExecutor#getDefault()}). The calling thread is not blocked.
+     *
+     * @param call call issuing the REST API request
+     * @param <T>  result type
+     * @return future completed by the result of the call
+     */
+    protected final <T> CompletableFuture<T> executeAsync(final Supplier<T> call) {
+        return getAsyncRequestExecutor().execute(call);
+    }
+
+    /**
+     * Executes the given call starting an asynchronous task on the {@link AsyncRequestExecutor} and then polls
+     * for the task result on the {@link PollScheduler}. Neither the calling thread nor a request thread is blocked
+     * while the task runs.
+     *
+     * @param call call issuing the REST API request starting the task
+     * @param <T>  result type
+     * @return future completed by the task result
+     */
+    protected final <T> CompletableFuture<T> executeAsyncAndPoll(final Supplier<FutureResult<T>> call) {
+        return executeAsync(call).thenCompose(FutureResult::toCompletableFuture);
+    }
+
+    private PollBackoffStrategy getBackoffStrategy(final PollHandler<?,?> handler) {
+        if (handler.getBackoffStrategy() != null) {
+            return handler.getBackoffStrategy();
         }
+        if (settings.getPollBackoffStrategy() != null) {
+            return settings.getPollBackoffStrategy();
+        }
+        return PollBackoffStrategy.fixed(settings.getPollSleep());
+    }
+
+    /**
+     * Settings used by this service.
+     *
+     * @return settings
+     */
+    protected final GoodDataSettings getSettings() {
+        return settings;
     }
 
     final <P> boolean pollOnce(final PollHandler<P,?> handler) {
+        return pollOnce(handler, null);
+    }
+
+    /**
+     * Issues single poll request using the given handler.
+     *
+     * @param handler         poll handler
+     * @param headersConsumer consumer of the poll response headers, can be null
+     * @param <P>             polling type
+     * @return true when the handler is done
+     */
+    final <P> boolean pollOnce(final PollHandler<P,?> handler, final Consumer<HttpHeaders> headersConsumer) {
         notNull(handler, "handler");
         final ClientHttpResponse response;
         try {
@@ -80,6 +245,9 @@ public abstract class AbstractService {
             handler.handlePollException(e);
             throw new GoodDataException("Handler " + handler.getClass().getName() + " didn't handle exception", e);
         }
+        if (headersConsumer != null) {
+            headersConsumer.accept(response.getHeaders());
+        }
 
         try {
             if (handler.isFinished(response)) {
@@ -96,6 +264,21 @@ public abstract class AbstractService {
         return handler.isDone();
     }
 
+    /**
+     * Object mapper of the JSON message converter of the REST template, so the JSON read or written by the service
+     * directly is processed the same way as the request and response bodies (e.g. unknown properties are ignored).
+     *
+     * @return object mapper used to process JSON
+     */
+    protected final ObjectMapper getResponseMapper() {
+        for (HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+        return mapper;
+    }
+
     protected final <T> T extractData(ClientHttpResponse response, Class<T> cls) throws IOException {
         notNull(response, "response");
         notNull(cls, "cls");
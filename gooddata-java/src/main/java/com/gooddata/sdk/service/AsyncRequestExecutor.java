@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Executes the REST API requests of the asynchronous service calls (e.g.
+ * {@link com.gooddata.sdk.service.project.ProjectService#getProjectByIdAsync(String)}) using a fixed pool of threads.
+ * <p>
+ * Requests exceeding the pool size wait in the queue of the executor instead of blocking the caller or waiting for
+ * a free connection, so a single thread can start thousands of calls while only as many requests as there are
+ * pool threads are in flight. Waiting for the results of asynchronous tasks occupies the pool only for the poll
+ * requests, the delays between them are driven by the {@link PollScheduler}. The pool size should thus match
+ * {@link GoodDataSettings#getMaxConnections()}.
+ * <p>
+ * Unless set by {@link GoodDataSettings#setAsyncRequestExecutor(AsyncRequestExecutor)}, all services share the
+ * {@link #getDefault() default instance} backed by daemon threads.
+ */
+public class AsyncRequestExecutor {
+
+    /**
+     * Number of threads used by the {@link #getDefault() default instance}, equals to the default
+     * {@link GoodDataSettings#getMaxConnections()}.
+     */
+    public static final int DEFAULT_POOL_SIZE = 20;
+
+    private final ExecutorService executor;
+
+    /**
+     * Creates new executor with {@link #DEFAULT_POOL_SIZE} daemon threads.
+     */
+    public AsyncRequestExecutor() {
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates new executor with given number of daemon threads.
+     *
+     * @param poolSize maximal number of requests executed at once
+     */
+    public AsyncRequestExecutor(final int poolSize) {
+        isTrue(poolSize > 0, "poolSize must be greater than zero");
+        this.executor = Executors.newFixedThreadPool(poolSize, new DaemonThreadFactory("gooddata-request"));
+    }
+
+    /**
+     * Creates new executor using the given executor service. The lifecycle of the executor service remains
+     * on the caller.
+     *
+     * @param executor executor service used to execute the requests
+     */
+    public AsyncRequestExecutor(final ExecutorService executor) {
+        this.executor = notNull(executor, "executor");
+    }
+
+    /**
+     * Executor shared by services which have no executor set in their settings.
+     *
+     * @return default executor
+     */
+    public static AsyncRequestExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Shuts down the underlying executor service, pending requests are not executed anymore.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executes the given call asynchronously.
+     *
+     * @param call call issuing the request
+     * @param <T>  result type
+     * @return future completed by the result of the call or its failure
+     */
+    <T> CompletableFuture<T> execute(final Supplier<T> call) {
+        notNull(call, "call");
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(new GoodDataException("Async request executor doesn't accept new requests", e));
+            return future;
+        }
+    }
+
+    /**
+     * @return executor service executing the requests
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    private static final class DefaultHolder {
+        private static final AsyncRequestExecutor INSTANCE = new AsyncRequestExecutor();
+    }
+}
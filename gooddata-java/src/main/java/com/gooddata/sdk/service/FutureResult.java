@@ -7,6 +7,7 @@ package com.gooddata.sdk.service;
 
 import com.gooddata.sdk.common.GoodDataException;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -46,4 +47,19 @@ public interface FutureResult<T> {
      * @return URI string
      */
     String getPollingUri();
+
+    /**
+     * Get view of this result as {@link CompletableFuture}, allowing to register callbacks and compose
+     * it with other asynchronous computations without blocking the calling thread.
+     * Cancelling the returned future stops the polling.
+     * <p>
+     * The default implementation waits for the result using {@link #get()} in a thread of its own (never
+     * in the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}), implementations are encouraged
+     * to override it.
+     *
+     * @return future completed by the result value or by {@link GoodDataException} when polling fails
+     */
+    default CompletableFuture<T> toCompletableFuture() {
+        return CompletableFuture.supplyAsync(this::get, FutureResultExecutor.INSTANCE);
+    }
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor of the default {@link FutureResult#toCompletableFuture()}, each waiting result blocks a daemon thread
+ * of its own, so it can't starve the common pool or the other waiting results.
+ */
+final class FutureResultExecutor {
+
+    static final Executor INSTANCE = Executors.newCachedThreadPool(new DaemonThreadFactory("gooddata-future"));
+
+    private FutureResultExecutor() {
+    }
+}
@@ -6,6 +6,8 @@
 package com.gooddata.sdk.service;
 
 import com.gooddata.sdk.common.gdc.Header;
+import com.gooddata.sdk.service.md.MetadataCache;
+import com.gooddata.sdk.service.ratelimit.RateLimitSettings;
 import com.gooddata.sdk.service.retry.RetrySettings;
 import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
 import org.apache.commons.lang3.StringUtils;
@@ -39,8 +41,16 @@ public class GoodDataSettings {
     private int connectionRequestTimeout = secondsToMillis(10);
     private int socketTimeout = secondsToMillis(60);
     private int pollSleep = secondsToMillis(5);
+    private PollScheduler pollScheduler;
+    private AsyncRequestExecutor asyncRequestExecutor;
+    private PollBackoffStrategy pollBackoffStrategy;
+    private MetadataCache metadataCache;
+    private int uploadParallelism = 4;
+    private PollBackoffStrategy partUploadBackoffStrategy;
+    private boolean compressUploads;
     private String userAgent;
     private RetrySettings retrySettings;
+    private RateLimitSettings rateLimitSettings;
     private Map<String, String> presetHeaders = new HashMap<>(2);
 
     private static final String UNKNOWN_VERSION = "UNKNOWN";
@@ -211,6 +221,159 @@ public class GoodDataSettings {
         setPollSleep(secondsToMillis(pollSleep));
     }
 
+    /**
+     * Get scheduler used to drive polling of asynchronous tasks
+     *
+     * @return poll scheduler or null when the {@link PollScheduler#getDefault() default one} is used
+     */
+    public PollScheduler getPollScheduler() {
+        return pollScheduler;
+    }
+
+    /**
+     * Set scheduler used to drive polling of asynchronous tasks.
+     * <p>
+     * The default is null, meaning the {@link PollScheduler#getDefault() default scheduler} shared by all services.
+     *
+     * @param pollScheduler poll scheduler
+     */
+    public void setPollScheduler(final PollScheduler pollScheduler) {
+        this.pollScheduler = pollScheduler;
+    }
+
+    /**
+     * Get executor of the requests issued by asynchronous service calls
+     *
+     * @return async request executor or null when the {@link AsyncRequestExecutor#getDefault() default one} is used
+     */
+    public AsyncRequestExecutor getAsyncRequestExecutor() {
+        return asyncRequestExecutor;
+    }
+
+    /**
+     * Set executor of the requests issued by asynchronous service calls. Its pool size should match
+     * the {@link #getMaxConnections() maximum number of connections}.
+     * <p>
+     * The default is null, meaning the {@link AsyncRequestExecutor#getDefault() default executor} shared by all services.
+     *
+     * @param asyncRequestExecutor async request executor
+     */
+    public void setAsyncRequestExecutor(final AsyncRequestExecutor asyncRequestExecutor) {
+        this.asyncRequestExecutor = asyncRequestExecutor;
+    }
+
+    /**
+     * Get strategy computing delays between poll requests of handlers which don't define their own
+     *
+     * @return poll backoff strategy or null when {@link #getPollSleep() fixed poll sleep} is used
+     */
+    public PollBackoffStrategy getPollBackoffStrategy() {
+        return pollBackoffStrategy;
+    }
+
+    /**
+     * Set strategy computing delays between poll requests of handlers which don't define their own
+     * {@link PollHandler#getBackoffStrategy() backoff strategy}. The delay requested by the server using
+     * {@code Retry-After} header always takes precedence.
+     * <p>
+     * The default is null, meaning the {@link #getPollSleep() poll sleep} is used between all poll requests.
+     *
+     * @param pollBackoffStrategy poll backoff strategy
+     */
+    public void setPollBackoffStrategy(final PollBackoffStrategy pollBackoffStrategy) {
+        this.pollBackoffStrategy = pollBackoffStrategy;
+    }
+
+    /**
+     * Get strategy computing delays between attempts to upload single part of a file in the datastore
+     *
+     * @return part upload backoff strategy or null when the default one is used
+     */
+    public PollBackoffStrategy getPartUploadBackoffStrategy() {
+        return partUploadBackoffStrategy;
+    }
+
+    /**
+     * Set strategy computing delays between attempts to upload single part of a file by
+     * {@link com.gooddata.sdk.service.gdc.DataStoreService#uploadInParts(String, java.nio.file.Path, long, boolean)}.
+     * The delay requested by the server using {@code Retry-After} header always takes precedence.
+     * <p>
+     * The default is null, meaning the delay starts with 1 second and is doubled up to 30 seconds.
+     *
+     * @param partUploadBackoffStrategy part upload backoff strategy
+     */
+    public void setPartUploadBackoffStrategy(final PollBackoffStrategy partUploadBackoffStrategy) {
+        this.partUploadBackoffStrategy = partUploadBackoffStrategy;
+    }
+
+    /**
+     * Get cache of metadata objects
+     *
+     * @return metadata cache or null when metadata objects are not cached
+     */
+    public MetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * Set cache of metadata objects retrieved by {@link com.gooddata.sdk.service.md.MetadataService}, for example
+     * {@link MetadataCache#lru(int, long, TimeUnit)}.
+     * <p>
+     * The default is null, meaning metadata objects are not cached.
+     *
+     * @param metadataCache metadata cache
+     */
+    public void setMetadataCache(final MetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    /**
+     * Maximum number of files uploaded concurrently
+     *
+     * @return maximum number of concurrent uploads
+     */
+    public int getUploadParallelism() {
+        return uploadParallelism;
+    }
+
+    /**
+     * Set maximum number of dataset files uploaded concurrently to the staging area by
+     * {@link com.gooddata.sdk.service.dataset.DatasetService#loadDatasets(com.gooddata.sdk.model.project.Project,
+     * java.util.Collection)}. Note the uploads share the {@link #getMaxConnections() connection pool}.
+     * <p>
+     * The default value is 4.
+     *
+     * @param uploadParallelism maximum number of concurrent uploads
+     */
+    public void setUploadParallelism(final int uploadParallelism) {
+        isTrue(uploadParallelism > 0, "uploadParallelism must be greater than zero");
+        this.uploadParallelism = uploadParallelism;
+    }
+
+    /**
+     * Whether dataset files are compressed when uploaded
+     *
+     * @return true when dataset files are uploaded as zip archive
+     */
+    public boolean isCompressUploads() {
+        return compressUploads;
+    }
+
+    /**
+     * Set whether dataset files uploaded to the staging area by
+     * {@link com.gooddata.sdk.service.dataset.DatasetService#loadDatasets(com.gooddata.sdk.model.project.Project,
+     * java.util.Collection)} are compressed. When enabled, the files are uploaded together with the manifest
+     * as single zip archive compressed on the fly, so the {@link #getUploadParallelism() upload parallelism}
+     * doesn't apply.
+     * <p>
+     * The default value is false.
+     *
+     * @param compressUploads true to upload dataset files as zip archive
+     */
+    public void setCompressUploads(final boolean compressUploads) {
+        this.compressUploads = compressUploads;
+    }
+
     /**
      * GoodData User agent
      * @return user agent string formatted with default suffix (identifying the SDK)
@@ -247,6 +410,25 @@ public class GoodDataSettings {
         this.retrySettings = retrySettings;
     }
 
+    /**
+     * Get client side limits of the requests
+     *
+     * @return rate limit settings or null when the requests aren't limited
+     */
+    public RateLimitSettings getRateLimitSettings() {
+        return rateLimitSettings;
+    }
+
+    /**
+     * Set client side limits of the requests per family of API resources. The default is null, meaning
+     * the requests are limited only by the {@link #getMaxConnections() maximum number of connections}.
+     *
+     * @param rateLimitSettings rate limit settings
+     */
+    public void setRateLimitSettings(final RateLimitSettings rateLimitSettings) {
+        this.rateLimitSettings = rateLimitSettings;
+    }
+
     /**
      * Set preset header
      * @param header header name
@@ -274,15 +456,24 @@ public class GoodDataSettings {
                 && connectionRequestTimeout == that.connectionRequestTimeout
                 && socketTimeout == that.socketTimeout
                 && pollSleep == that.pollSleep
+                && uploadParallelism == that.uploadParallelism
+                && compressUploads == that.compressUploads
+                && Objects.equals(pollScheduler, that.pollScheduler)
+                && Objects.equals(asyncRequestExecutor, that.asyncRequestExecutor)
+                && Objects.equals(pollBackoffStrategy, that.pollBackoffStrategy)
+                && Objects.equals(partUploadBackoffStrategy, that.partUploadBackoffStrategy)
+                && Objects.equals(metadataCache, that.metadataCache)
                 && Objects.equals(userAgent, that.userAgent)
                 && Objects.equals(retrySettings, that.retrySettings)
+                && Objects.equals(rateLimitSettings, that.rateLimitSettings)
                 && Objects.equals(presetHeaders, that.presetHeaders);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(maxConnections, connectionTimeout, connectionRequestTimeout, socketTimeout, pollSleep,
-                userAgent, retrySettings, presetHeaders);
+                uploadParallelism, compressUploads, pollScheduler, asyncRequestExecutor, pollBackoffStrategy,
+                partUploadBackoffStrategy, metadataCache, userAgent, retrySettings, rateLimitSettings, presetHeaders);
     }
 
     @Override
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.gdc.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Request factory setting HTTP headers passed to constructor of this class to the requests created by the delegate
+ * factory and logging the content of X-GDC-DEPRECATED header of their responses.
+ * <p>
+ * Unlike {@link HeaderSettingRequestInterceptor} and {@link DeprecationWarningRequestInterceptor} registered with
+ * the {@link org.springframework.web.client.RestTemplate}, the factory doesn't buffer the request body.
+ * It applies only to the requests of the REST template, other users of the same http client (i.e. WebDAV
+ * requests of the {@link com.gooddata.sdk.service.gdc.DataStoreService}) are not affected.
+ */
+public class HeaderSettingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.gooddata.sdk.DeprecationWarning");
+
+    private final ClientHttpRequestFactory delegate;
+    private final Map<String, String> headers;
+
+    /**
+     * Creates new factory.
+     *
+     * @param delegate request factory to create the requests
+     * @param headers  the map of HTTP header names to header values
+     */
+    public HeaderSettingClientHttpRequestFactory(final ClientHttpRequestFactory delegate,
+                                                 final Map<String, String> headers) {
+        this.delegate = notNull(delegate, "delegate");
+        this.headers = notNull(headers, "headers");
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        final ClientHttpRequest request = delegate.createRequest(uri, httpMethod);
+        return request instanceof StreamingHttpOutputMessage
+                ? new StreamingHeaderSettingClientHttpRequest(request, headers)
+                : new HeaderSettingClientHttpRequest(request, headers);
+    }
+
+    private static class HeaderSettingClientHttpRequest implements ClientHttpRequest {
+
+        final ClientHttpRequest request;
+        private final Map<String, String> headers;
+
+        private HeaderSettingClientHttpRequest(final ClientHttpRequest request, final Map<String, String> headers) {
+            this.request = request;
+            this.headers = headers;
+        }
+
+        /**
+         * Headers are set just before they are written, so they override the ones set by the request callbacks
+         * of the {@link org.springframework.web.client.RestTemplate} (the same as the request interceptor did).
+         */
+        void setHeaders() {
+            for (final Map.Entry<String, String> header : headers.entrySet()) {
+                request.getHeaders().set(header.getKey(), header.getValue());
+            }
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            setHeaders();
+            final ClientHttpResponse response = request.execute();
+            if (logger.isWarnEnabled()) {
+                final List<String> deprecated = response.getHeaders().get(Header.GDC_DEPRECATED);
+                if (deprecated != null && !deprecated.isEmpty()) {
+                    final List<String> versionHeaders = request.getHeaders().get(Header.GDC_VERSION);
+                    final String version = versionHeaders != null && !versionHeaders.isEmpty() ? versionHeaders.get(0) : "UNKNOWN";
+                    logger.warn("Resource path={} version={} deprecated {}", request.getURI().getPath(), version, deprecated.get(0));
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            setHeaders();
+            return request.getBody();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    private static class StreamingHeaderSettingClientHttpRequest extends HeaderSettingClientHttpRequest
+            implements StreamingHttpOutputMessage {
+
+        private StreamingHeaderSettingClientHttpRequest(final ClientHttpRequest request,
+                                                        final Map<String, String> headers) {
+            super(request, headers);
+        }
+
+        @Override
+        public void setBody(final Body body) {
+            ((StreamingHttpOutputMessage) request).setBody(body);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Computes the delay between two consecutive poll requests of {@link PollHandler}.
+ * <p>
+ * The delay is used only when the polled resource doesn't provide {@code Retry-After} header,
+ * which is always preferred.
+ *
+ * @see PollHandler#getBackoffStrategy()
+ * @see GoodDataSettings#setPollBackoffStrategy(PollBackoffStrategy)
+ */
+@FunctionalInterface
+public interface PollBackoffStrategy {
+
+    /**
+     * Get milliseconds to wait before the next poll request.
+     *
+     * @param attempt number of poll requests already issued (starting with 1)
+     * @return delay in milliseconds
+     */
+    long getDelay(int attempt);
+
+    /**
+     * Strategy using the same delay before each poll request.
+     *
+     * @param delay delay in milliseconds
+     * @return fixed strategy
+     */
+    static PollBackoffStrategy fixed(final long delay) {
+        isTrue(delay >= 0, "delay must be not negative");
+        return attempt -> delay;
+    }
+
+    /**
+     * Strategy starting with the given delay, which is multiplied after each poll request up to the given maximum.
+     *
+     * @param initialDelay delay after the first poll request in milliseconds
+     * @param multiplier   multiplier applied on the delay after each poll request
+     * @param maxDelay     maximum delay in milliseconds
+     * @return exponential strategy
+     */
+    static PollBackoffStrategy exponential(final long initialDelay, final double multiplier, final long maxDelay) {
+        isTrue(initialDelay >= 0, "initialDelay must be not negative");
+        isTrue(multiplier >= 1, "multiplier must be at least 1");
+        isTrue(maxDelay >= initialDelay, "maxDelay must be greater or equal to initialDelay");
+        return attempt -> (long) Math.min(maxDelay, initialDelay * Math.pow(multiplier, Math.max(0, attempt - 1)));
+    }
+}
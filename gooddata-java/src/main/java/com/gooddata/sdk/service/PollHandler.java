@@ -87,4 +87,13 @@ public interface PollHandler<P,R> {
      * @param e the exception
      */
     void handlePollException(GoodDataRestException e);
+
+    /**
+     * Get strategy computing delays between poll requests of this handler.
+     *
+     * @return backoff strategy or null to use the one configured in {@link GoodDataSettings}
+     */
+    default PollBackoffStrategy getBackoffStrategy() {
+        return null;
+    }
 }
@@ -5,6 +5,7 @@
  */
 package com.gooddata.sdk.service;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
@@ -18,6 +19,8 @@ public final class PollResult<T> implements FutureResult<T> {
 
     private final PollHandler<?,T> handler;
 
+    private CompletableFuture<T> future;
+
     /**
      * Creates a new instance of the result to be eventually retrieved by polling on the REST API.<p>
      * For internal use by services employing polling.
@@ -32,7 +35,16 @@ public final class PollResult<T> implements FutureResult<T> {
 
     @Override
     public boolean isDone() {
-        return handler.isDone() || service.pollOnce(handler);
+        final CompletableFuture<T> future = getFuture();
+        if (future == null) {
+            return handler.isDone() || service.pollOnce(handler);
+        }
+        if (future.isDone()) {
+            // propagates the polling failure
+            AbstractService.await(future, 0, null);
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -42,6 +54,10 @@ public final class PollResult<T> implements FutureResult<T> {
 
     @Override
     public T get(final long timeout, final TimeUnit unit) {
+        final CompletableFuture<T> future = getFuture();
+        if (future != null) {
+            return AbstractService.await(future, timeout, unit);
+        }
         if (handler.isDone()) {
             return handler.getResult();
         }
@@ -57,4 +73,25 @@ public final class PollResult<T> implements FutureResult<T> {
     public String getPollingUri() {
         return handler.getPollingUri();
     }
+
+    /**
+     * Starts polling on the {@link PollScheduler} (unless already started) and returns the future of the result.
+     * The same future is returned by all calls, cancelling it stops the polling for all its consumers.
+     * Once started, {@link #get()} and {@link #isDone()} wait for the same future.
+     *
+     * @return future of the result
+     */
+    @Override
+    public synchronized CompletableFuture<T> toCompletableFuture() {
+        if (future == null) {
+            future = handler.isDone()
+                    ? CompletableFuture.completedFuture(handler.getResult())
+                    : service.pollAsync(handler, 0, null);
+        }
+        return future;
+    }
+
+    private synchronized CompletableFuture<T> getFuture() {
+        return future;
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+import com.gooddata.sdk.service.util.RetryAfter;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Drives polling of {@link PollHandler}s using a small pool of threads, so waiting for results of many asynchronous
+ * tasks doesn't need a sleeping thread per task. The scheduler threads only time the polls, each poll request
+ * is issued by the {@link AsyncRequestExecutor} of the polling service (or other executor given by the service)
+ * and the result is published through {@link CompletableFuture}.
+ * <p>
+ * Unless set by {@link GoodDataSettings#setPollScheduler(PollScheduler)}, all services share the
+ * {@link #getDefault() default instance} backed by daemon threads.
+ * <p>
+ * Note the handler callbacks (including {@link AbstractPollHandlerBase#onFinish()}) are executed by the request
+ * threads together with the poll requests, so a slow poll or handler doesn't delay the other polls beyond
+ * the size of the {@link AsyncRequestExecutor} pool.
+ */
+public class PollScheduler {
+
+    /**
+     * Number of threads used by the {@link #getDefault() default instance}, the threads only schedule the polls.
+     */
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates new scheduler with {@link #DEFAULT_POOL_SIZE} daemon threads.
+     */
+    public PollScheduler() {
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates new scheduler with given number of daemon threads.
+     *
+     * @param poolSize number of threads used for polling
+     */
+    public PollScheduler(final int poolSize) {
+        isTrue(poolSize > 0, "poolSize must be greater than zero");
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(poolSize, new DaemonThreadFactory("gooddata-poll"));
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Creates new scheduler using the given executor. The lifecycle of the executor remains on the caller.
+     *
+     * @param executor executor used for polling
+     */
+    public PollScheduler(final ScheduledExecutorService executor) {
+        this.executor = notNull(executor, "executor");
+    }
+
+    /**
+     * Scheduler shared by services which have no scheduler set in their settings.
+     *
+     * @return default scheduler
+     */
+    public static PollScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Shuts down the underlying executor, pending polls are not executed anymore.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts polling using the given handler. The first poll is issued immediately, the following ones are
+     * delayed as requested by {@code Retry-After} header of the last poll response or by the given backoff strategy
+     * when the header is missing. Cancelling the returned future stops the polling.
+     *
+     * @param service service used to issue the poll requests
+     * @param handler poll handler
+     * @param backoff strategy computing delays between poll requests
+     * @param timeout timeout value
+     * @param unit    timeout unit, no timeout is applied when null
+     * @param <R>     result type
+     * @return future completed by the handler result or exception
+     */
+    <R> CompletableFuture<R> schedule(final AbstractService service, final PollHandler<?, R> handler,
+                                      final PollBackoffStrategy backoff, final long timeout, final TimeUnit unit) {
+        notNull(service, "service");
+        notNull(handler, "handler");
+        return schedule(service.getRequestExecutor(), new PollRequest<R>() {
+            @Override
+            public boolean poll(final Consumer<HttpHeaders> headersConsumer) {
+                return service.pollOnce(handler, headersConsumer);
+            }
+
+            @Override
+            public R getResult() {
+                return handler.getResult();
+            }
+        }, backoff, timeout, unit);
+    }
+
+    /**
+     * Starts polling using the given request, the requests are executed by the given executor.
+     *
+     * @param requestExecutor executor of the poll requests
+     * @param request         poll request
+     * @param backoff         strategy computing delays between poll requests
+     * @param timeout         timeout value
+     * @param unit            timeout unit, no timeout is applied when null
+     * @param <R>             result type
+     * @return future completed by the request result or exception
+     */
+    <R> CompletableFuture<R> schedule(final Executor requestExecutor, final PollRequest<R> request,
+                                      final PollBackoffStrategy backoff, final long timeout, final TimeUnit unit) {
+        notNull(requestExecutor, "requestExecutor");
+        notNull(request, "request");
+        notNull(backoff, "backoff");
+        final long deadline = unit == null ? Long.MAX_VALUE : System.currentTimeMillis() + unit.toMillis(timeout);
+        final PollTask<R> task = new PollTask<>(requestExecutor, request, backoff, deadline);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(new GoodDataException("Poll scheduler doesn't accept new tasks", e));
+        }
+        return task.future;
+    }
+
+    /**
+     * Single poll request issued repeatedly until done.
+     *
+     * @param <R> result type
+     */
+    interface PollRequest<R> {
+
+        /**
+         * Issues single poll request.
+         *
+         * @param headersConsumer consumer of the poll response headers
+         * @return true when the polling is done
+         */
+        boolean poll(Consumer<HttpHeaders> headersConsumer);
+
+        /**
+         * @return result of the done polling
+         */
+        R getResult();
+    }
+
+    private final class PollTask<R> implements Runnable {
+
+        private final Executor requestExecutor;
+        private final PollRequest<R> request;
+        private final PollBackoffStrategy backoff;
+        private final long deadline;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private volatile Future<?> next;
+        private volatile HttpHeaders lastHeaders;
+        private int attempt;
+
+        private PollTask(final Executor requestExecutor, final PollRequest<R> request,
+                         final PollBackoffStrategy backoff, final long deadline) {
+            this.requestExecutor = requestExecutor;
+            this.request = request;
+            this.backoff = backoff;
+            this.deadline = deadline;
+            future.whenComplete((result, e) -> {
+                final Future<?> pending = next;
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+            });
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                return;
+            }
+            attempt++;
+            final CompletableFuture<Boolean> polled;
+            try {
+                polled = CompletableFuture.supplyAsync(() -> request.poll(headers -> lastHeaders = headers),
+                        requestExecutor);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(new GoodDataException("Poll request executor doesn't accept new requests",
+                        e));
+                return;
+            }
+            polled.whenComplete(this::polled);
+        }
+
+        private void polled(final Boolean done, final Throwable failure) {
+            if (future.isDone()) {
+                return;
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+                return;
+            }
+            try {
+                if (done) {
+                    future.complete(request.getResult());
+                } else if (deadline < System.currentTimeMillis()) {
+                    future.completeExceptionally(new GoodDataException("timeout"));
+                } else {
+                    next = executor.schedule(this, getDelay(), MILLISECONDS);
+                }
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(new GoodDataException("Poll scheduler doesn't accept new tasks", e));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private long getDelay() {
+            final HttpHeaders headers = lastHeaders;
+            lastHeaders = null;
+            return RetryAfter.getDelay(headers).orElseGet(() -> backoff.getDelay(attempt));
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final PollScheduler INSTANCE = new PollScheduler();
+    }
+}
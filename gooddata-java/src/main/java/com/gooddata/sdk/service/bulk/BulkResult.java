@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.bulk;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Report of the operation run for many projects, e.g. by {@link GoodDataBulkExecutor}.
+ *
+ * @param <T> result type
+ */
+public class BulkResult<T> {
+
+    private final List<ProjectResult<T>> results;
+    private final long durationNanos;
+
+    /**
+     * Creates new report.
+     *
+     * @param results       results of the operation in the order of the projects
+     * @param durationNanos time the whole run took in nanoseconds
+     */
+    public BulkResult(final List<ProjectResult<T>> results, final long durationNanos) {
+        this.results = Collections.unmodifiableList(notNull(results, "results"));
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return results of the operation in the order of the projects
+     */
+    public List<ProjectResult<T>> getResults() {
+        return results;
+    }
+
+    /**
+     * @return results of the failed operations
+     */
+    public List<ProjectResult<T>> getFailedResults() {
+        return results.stream().filter(result -> !result.isSuccessful()).collect(Collectors.toList());
+    }
+
+    /**
+     * @return true if the operation succeeded for all projects
+     */
+    public boolean isSuccessful() {
+        return results.stream().allMatch(ProjectResult::isSuccessful);
+    }
+
+    /**
+     * @return time the whole run took
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    /**
+     * @return average time the operation took for single project, zero when run for no project
+     */
+    public Duration getAverageDuration() {
+        if (results.isEmpty()) {
+            return Duration.ZERO;
+        }
+        final long total = results.stream().mapToLong(result -> result.getDuration().toNanos()).sum();
+        return Duration.ofNanos(total / results.size());
+    }
+
+    /**
+     * @return number of projects processed per second
+     */
+    public double getThroughput() {
+        return durationNanos <= 0 ? 0 : results.size() * 1e9 / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
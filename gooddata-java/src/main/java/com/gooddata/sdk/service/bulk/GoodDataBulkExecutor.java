@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.bulk;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.GoodData;
+import com.gooddata.sdk.service.GoodDataSettings;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+
+import static com.gooddata.sdk.common.util.Validate.isTrue;
+import static com.gooddata.sdk.common.util.Validate.noNullElements;
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Runs an operation for each of many projects concurrently, e.g. listing users or feature flags of all projects
+ * of a domain, and reports the result of each project together with throughput of the whole run.
+ * <p>
+ * The operations are run on virtual threads when the runtime supports them (Java 21+), otherwise on a pool
+ * of platform threads. In both cases at most {@link #getConcurrency() concurrency} operations run at once,
+ * which should correspond to {@link GoodDataSettings#getMaxConnections()}, so the operations don't wait
+ * for a free connection of the pool shared by the {@link GoodData} services.
+ * <p>
+ * Failure of an operation doesn't affect the others, it is reported in the {@link ProjectResult} of its project.
+ */
+public class GoodDataBulkExecutor {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final GoodData gd;
+    private final int concurrency;
+
+    /**
+     * Creates new executor running at most {@link GoodDataSettings#getMaxConnections()} operations at once.
+     *
+     * @param gd       GoodData instance passed to the operations
+     * @param settings settings used by the GoodData instance
+     */
+    public GoodDataBulkExecutor(final GoodData gd, final GoodDataSettings settings) {
+        this(gd, notNull(settings, "settings").getMaxConnections());
+    }
+
+    /**
+     * Creates new executor running at most given number of operations at once.
+     *
+     * @param gd          GoodData instance passed to the operations
+     * @param concurrency maximal number of operations running at once
+     */
+    public GoodDataBulkExecutor(final GoodData gd, final int concurrency) {
+        isTrue(concurrency > 0, "concurrency must be greater than zero");
+        this.gd = notNull(gd, "gd");
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @return maximal number of operations running at once
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Runs the operation for each of the given projects and waits until all of them finish.
+     *
+     * @param projects  projects to run the operation for
+     * @param operation operation to run, receives the GoodData instance and the project
+     * @param <T>       result type
+     * @return results of the operation per project, in the order of the projects
+     * @throws GoodDataException when interrupted while waiting for the operations
+     */
+    public <T> BulkResult<T> execute(final Collection<Project> projects,
+                                     final BiFunction<? super GoodData, ? super Project, ? extends T> operation) {
+        noNullElements(projects, "projects");
+        notNull(operation, "operation");
+
+        final long start = System.nanoTime();
+        final List<ProjectResult<T>> results = new ArrayList<>(projects.size());
+        if (!projects.isEmpty()) {
+            final ExecutorService executor = createExecutor(projects.size());
+            final Semaphore permits = new Semaphore(concurrency);
+            final List<Future<ProjectResult<T>>> futures = new ArrayList<>(projects.size());
+            try {
+                for (Project project : projects) {
+                    futures.add(executor.submit(() -> run(project, operation, permits)));
+                }
+                for (Future<ProjectResult<T>> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GoodDataException("Interrupted while executing bulk operation", e);
+            } catch (ExecutionException e) {
+                // failures of the operation are caught by the task, only an Error gets here
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new GoodDataException("Unable to execute bulk operation", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        final BulkResult<T> result = new BulkResult<>(results, System.nanoTime() - start);
+        logger.debug("Bulk operation finished for {} projects ({} failed) in {} ms, {} projects/s",
+                results.size(), result.getFailedResults().size(), result.getDuration().toMillis(),
+                String.format("%.1f", result.getThroughput()));
+        return result;
+    }
+
+    private <T> ProjectResult<T> run(final Project project,
+                                     final BiFunction<? super GoodData, ? super Project, ? extends T> operation,
+                                     final Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        final long start = System.nanoTime();
+        try {
+            final T result = operation.apply(gd, project);
+            return new ProjectResult<>(project, result, null, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return new ProjectResult<>(project, null, e, System.nanoTime() - start);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private ExecutorService createExecutor(final int tasks) {
+        final ExecutorService virtual = VirtualThreads.newExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return Executors.newFixedThreadPool(Math.min(concurrency, tasks), new DaemonThreadFactory("gooddata-bulk"));
+    }
+
+    /**
+     * @return true when the operations are run on virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.SUPPORTED;
+    }
+
+    /**
+     * Virtual threads are looked up reflectively as the SDK is compiled for Java 8.
+     */
+    private static final class VirtualThreads {
+
+        private static final boolean SUPPORTED;
+
+        static {
+            final ExecutorService executor = newExecutor();
+            SUPPORTED = executor != null;
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+
+        private static ExecutorService newExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // not supported by the runtime (before Java 21, or a preview feature not enabled)
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.bulk;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+import com.gooddata.sdk.model.project.Project;
+
+import java.time.Duration;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Result of the operation run for single project, part of {@link BulkResult}.
+ *
+ * @param <T> result type
+ */
+public class ProjectResult<T> {
+
+    private final Project project;
+    private final T result;
+    private final RuntimeException error;
+    private final long durationNanos;
+
+    /**
+     * Creates new result.
+     *
+     * @param project       project the operation was run for
+     * @param result        result of the operation, null when the operation failed
+     * @param error         cause of the failed operation, null when the operation succeeded
+     * @param durationNanos time the operation took in nanoseconds
+     */
+    public ProjectResult(final Project project, final T result, final RuntimeException error,
+                         final long durationNanos) {
+        this.project = notNull(project, "project");
+        this.result = result;
+        this.error = error;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * @return project the operation was run for
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * @return result of the operation, null when the operation failed
+     */
+    public T getResult() {
+        return result;
+    }
+
+    /**
+     * @return cause of the failed operation, null when the operation succeeded
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * @return true if the operation succeeded
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * @return time the operation took
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(durationNanos);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
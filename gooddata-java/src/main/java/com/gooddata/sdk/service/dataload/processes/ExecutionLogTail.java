@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataload.processes;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.common.GoodDataRestException;
+import com.gooddata.sdk.model.dataload.processes.ProcessExecutionDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Reads the log of running process execution incrementally. Each {@link #tail()} requests only the part of the log
+ * following the last byte seen by HTTP Range request and passes it to the consumer.
+ * <p>
+ * Failures of the log requests and of the consumer are logged and ignored, so they never affect the execution itself.
+ */
+class ExecutionLogTail {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RestTemplate restTemplate;
+    private final String detailUri;
+    private final Consumer<byte[]> consumer;
+
+    private String logUri;
+    private long offset;
+
+    ExecutionLogTail(final RestTemplate restTemplate, final String detailUri, final Consumer<byte[]> consumer) {
+        this.restTemplate = notNull(restTemplate, "restTemplate");
+        this.detailUri = notNull(detailUri, "detailUri");
+        this.consumer = notNull(consumer, "consumer");
+    }
+
+    /**
+     * Passes the part of the log written since the last call to the consumer, if any.
+     */
+    synchronized void tail() {
+        final byte[] chunk;
+        try {
+            if (logUri == null) {
+                final ProcessExecutionDetail detail = restTemplate.getForObject(detailUri, ProcessExecutionDetail.class);
+                if (detail == null) {
+                    return;
+                }
+                logUri = detail.getLogUri();
+            }
+            chunk = restTemplate.execute(logUri, HttpMethod.GET,
+                    request -> request.getHeaders().set(HttpHeaders.RANGE, "bytes=" + offset + "-"),
+                    response -> {
+                        final InputStream body = response.getBody();
+                        if (response.getStatusCode() != HttpStatus.PARTIAL_CONTENT) {
+                            // the range was ignored, skip the part already seen
+                            skip(body, offset);
+                        }
+                        return StreamUtils.copyToByteArray(body);
+                    });
+        } catch (GoodDataRestException e) {
+            // the log doesn't exist yet or has no new content
+            if (e.getStatusCode() != HttpStatus.NOT_FOUND.value()
+                    && e.getStatusCode() != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                logger.warn("Unable to tail process execution log {}", logUri, e);
+            }
+            return;
+        } catch (GoodDataException | RestClientException e) {
+            logger.warn("Unable to tail process execution log {}", logUri, e);
+            return;
+        }
+        if (chunk != null && chunk.length > 0) {
+            offset += chunk.length;
+            try {
+                consumer.accept(chunk);
+            } catch (RuntimeException e) {
+                logger.warn("Consumer of process execution log {} failed", logUri, e);
+            }
+        }
+    }
+
+    private static void skip(final InputStream stream, final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = stream.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (stream.read() >= 0) {
+                remaining--;
+            } else {
+                return;
+            }
+        }
+    }
+}
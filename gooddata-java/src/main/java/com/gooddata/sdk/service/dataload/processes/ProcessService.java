@@ -29,11 +29,15 @@ import com.gooddata.sdk.service.GoodDataSettings;
 import com.gooddata.sdk.service.PollResult;
 import com.gooddata.sdk.service.SimplePollHandler;
 import com.gooddata.sdk.service.account.AccountService;
+import com.gooddata.sdk.service.bulk.BulkResult;
+import com.gooddata.sdk.service.bulk.ProjectResult;
 import com.gooddata.sdk.service.gdc.DataStoreService;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
 import com.gooddata.sdk.service.util.ZipHelper;
+import org.apache.commons.lang3.RandomStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.AbstractResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -52,8 +56,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
-import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
@@ -71,9 +85,14 @@ public class ProcessService extends AbstractService {
     public static final UriTemplate SCHEDULES_TEMPLATE = new UriTemplate(Schedules.URI);
     public static final UriTemplate PROCESSES_TEMPLATE = new UriTemplate(DataloadProcesses.URI);
     public static final UriTemplate USER_PROCESSES_TEMPLATE = new UriTemplate(DataloadProcesses.USER_PROCESSES_URI);
+    /**
+     * Default number of concurrent deployments by {@link #deployProcesses(Collection, DataloadProcess, File)}.
+     */
+    public static final int DEFAULT_DEPLOY_PARALLELISM = 4;
     private static final MediaType MEDIA_TYPE_ZIP = MediaType.parseMediaType("application/zip");
     private static final long MAX_MULTIPART_SIZE = 1024 * 1024;
 
+
     private final AccountService accountService;
     private final DataStoreService dataStoreService;
 
@@ -174,6 +193,130 @@ public class ProcessService extends AbstractService {
         return postProcess(process, URI.create(process.getUri()), HttpMethod.PUT);
     }
 
+    /**
+     * Deploys given process data into all given projects, using {@link #DEFAULT_DEPLOY_PARALLELISM} concurrent
+     * deployments.
+     *
+     * @param projects    projects to deploy the process to
+     * @param process     process to create, its name and type are used
+     * @param processData process data to upload
+     * @return report of the deployments
+     * @see #deployProcesses(Collection, DataloadProcess, File, int)
+     */
+    public BulkResult<DataloadProcess> deployProcesses(Collection<Project> projects, DataloadProcess process,
+                                                       File processData) {
+        return deployProcesses(projects, process, processData, DEFAULT_DEPLOY_PARALLELISM);
+    }
+
+    /**
+     * Deploys given process data into all given projects. The data are zipped and uploaded to the data store once
+     * and all the deployments reference the uploaded archive by path. Process of the same name is updated in
+     * each project, or created when the project has no such process. Each project is deployed once, even if
+     * it's given repeatedly.
+     * <p>
+     * The deployments run concurrently and failure of one doesn't stop the others, the results of all are reported.
+     * The uploaded archive is deleted when all deployments finish.
+     *
+     * @param projects    projects to deploy the process to
+     * @param process     process to create, its name and type are used
+     * @param processData process data to upload
+     * @param parallelism maximal number of concurrent deployments
+     * @return report of the deployments, the result of each project is the created or updated process
+     * @throws GoodDataException when the process data can't be uploaded
+     */
+    public BulkResult<DataloadProcess> deployProcesses(Collection<Project> projects, DataloadProcess process,
+                                                       File processData, int parallelism) {
+        notEmpty(projects, "projects");
+        notNull(process, "process");
+        notEmpty(process.getName(), "process.name");
+        notNull(processData, "processData");
+        isTrue(parallelism > 0, "parallelism must be greater than zero");
+        isTrue(process.getPath() == null, "Process path has to be null, use processData argument.");
+        if (dataStoreService == null) {
+            throw new UnsupportedOperationException("WebDAV calls not supported. Please add com.github.lookfirst:sardine to dependencies.");
+        }
+
+        final Map<String, Project> targets = new LinkedHashMap<>();
+        projects.forEach(project -> targets.putIfAbsent(notNull(project, "project").getId(), project));
+
+        final long start = System.nanoTime();
+        final String fileName = "process" + RandomStringUtils.randomAlphanumeric(10) + ".zip";
+        uploadProcessData(fileName, processData);
+        logger.debug("Deploying process data {} to {} projects", fileName, targets.size());
+        try {
+            final String path = dataStoreService.getUri(fileName).getPath();
+            final List<Callable<ProjectResult<DataloadProcess>>> deployments = new ArrayList<>(targets.size());
+            targets.values().forEach(project -> deployments.add(() -> deployProcess(project, process, path)));
+            return new BulkResult<>(invokeDeployments(deployments, parallelism), System.nanoTime() - start);
+        } finally {
+            deleteProcessData(fileName);
+        }
+    }
+
+    private void deleteProcessData(final String fileName) {
+        try {
+            dataStoreService.delete(fileName);
+        } catch (GoodDataException e) {
+            logger.warn("Unable to delete deployed process data {}", fileName, e);
+        }
+    }
+
+    private void uploadProcessData(final String fileName, final File processData) {
+        try (final InputStream input = ZipHelper.openZipStream(processData)) {
+            dataStoreService.upload(fileName, input);
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to zip process data", e);
+        }
+    }
+
+    private ProjectResult<DataloadProcess> deployProcess(final Project project, final DataloadProcess process,
+                                                         final String path) {
+        final long start = System.nanoTime();
+        try {
+            final DataloadProcess existing = listProcesses(project).stream()
+                    .filter(candidate -> process.getName().equals(candidate.getName()))
+                    .findFirst()
+                    .orElse(null);
+            final DataloadProcess deployed;
+            if (existing == null) {
+                final DataloadProcess created = new DataloadProcess(process.getName(), process.getType());
+                created.setPath(path);
+                deployed = sendProcess(created, getProcessesUri(project), HttpMethod.POST);
+            } else {
+                existing.setType(process.getType());
+                existing.setPath(path);
+                deployed = sendProcess(existing, URI.create(existing.getUri()), HttpMethod.PUT);
+            }
+            return new ProjectResult<>(project, deployed, null, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            // reported per project, so unexpected failure in one project doesn't abort the others
+            return new ProjectResult<>(project, null, e, System.nanoTime() - start);
+        }
+    }
+
+    private List<ProjectResult<DataloadProcess>> invokeDeployments(
+            final List<Callable<ProjectResult<DataloadProcess>>> deployments, final int parallelism) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, deployments.size()),
+                new DaemonThreadFactory("gooddata-process-deploy"));
+        try {
+            final List<ProjectResult<DataloadProcess>> results = new ArrayList<>(deployments.size());
+            for (Future<ProjectResult<DataloadProcess>> deployment : executor.invokeAll(deployments)) {
+                results.add(deployment.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoodDataException("Interrupted while deploying processes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to deploy processes", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Get process by given URI.
      * @param uri process uri
@@ -280,6 +423,39 @@ public class ProcessService extends AbstractService {
      * @throws ProcessExecutionException in case process can't be executed
      */
     public FutureResult<ProcessExecutionDetail> executeProcess(ProcessExecution execution) {
+        return executeProcess(execution, null);
+    }
+
+    /**
+     * Run given execution under given process asynchronously. Neither the execution request nor the waiting
+     * for the execution result blocks the calling thread.
+     *
+     * @param execution to run
+     * @return future of the result of the execution, failed by {@link ProcessExecutionException} in case process
+     * can't be executed
+     * @see #executeProcess(ProcessExecution)
+     * @see com.gooddata.sdk.service.AsyncRequestExecutor
+     */
+    public CompletableFuture<ProcessExecutionDetail> executeProcessAsync(final ProcessExecution execution) {
+        notNull(execution, "execution");
+        return executeAsyncAndPoll(() -> executeProcess(execution));
+    }
+
+    /**
+     * Run given execution under given process and tail its log while it runs. Each poll of the execution
+     * is followed by a request of the part of the log written since the previous one (using HTTP Range header),
+     * so the log is passed to the consumer in chunks as it grows, never downloading it again.
+     * The log is requested by the same {@link com.gooddata.sdk.service.AsyncRequestExecutor} thread which polls
+     * the execution, failures of the log requests are ignored.
+     *
+     * @param execution   to run
+     * @param logConsumer consumer of the new log chunks, null to not tail the log
+     * @return result of the execution
+     * @throws ProcessExecutionException in case process can't be executed
+     * @see #getExecutionLog(ProcessExecutionDetail, OutputStream)
+     */
+    public FutureResult<ProcessExecutionDetail> executeProcess(ProcessExecution execution,
+                                                               Consumer<byte[]> logConsumer) {
         notNull(execution, "execution");
         ProcessExecutionTask executionTask;
         try {
@@ -293,10 +469,15 @@ public class ProcessService extends AbstractService {
         }
 
         final String detailLink = executionTask.getDetailUri();
+        final ExecutionLogTail logTail = logConsumer == null ? null
+                : new ExecutionLogTail(restTemplate, detailLink, logConsumer);
 
         return new PollResult<>(this, new AbstractPollHandler<Void, ProcessExecutionDetail>(executionTask.getPollUri(), Void.class, ProcessExecutionDetail.class) {
             @Override
             public boolean isFinished(ClientHttpResponse response) throws IOException {
+                if (logTail != null) {
+                    logTail.tail();
+                }
                 return HttpStatus.NO_CONTENT.equals(response.getStatusCode());
             }
 
@@ -552,44 +733,42 @@ public class ProcessService extends AbstractService {
         return PROCESSES_TEMPLATE.expand(project.getId());
     }
 
+    /**
+     * Process data are zipped on the fly into the request, so they are read just once and no temporary file is
+     * needed. Multipart or WebDAV upload is chosen by the estimated size of the archive.
+     */
     private DataloadProcess postProcess(DataloadProcess process, File processData, URI postUri) {
-        File tempFile = createTempFile("process", ".zip");
-
-        try (OutputStream output = Files.newOutputStream(tempFile.toPath())) {
-            ZipHelper.zip(processData, output);
-        } catch (IOException e) {
-            throw new GoodDataException("Unable to zip process data", e);
-        }
-
-        Object processToSend;
-        HttpMethod method = HttpMethod.POST;
-        if (dataStoreService != null && tempFile.length() > MAX_MULTIPART_SIZE) {
-            try (final InputStream input = Files.newInputStream(tempFile.toPath())) {
-                process.setPath(dataStoreService.getUri(tempFile.getName()).getPath());
-                dataStoreService.upload(tempFile.getName(), input);
-                processToSend = process;
-                if (PROCESS_TEMPLATE.matches(postUri.toString())) {
-                    method = HttpMethod.PUT;
-                }
+        if (dataStoreService != null && ZipHelper.estimateZipSize(processData) > MAX_MULTIPART_SIZE) {
+            final String fileName = "process" + RandomStringUtils.randomAlphanumeric(10) + ".zip";
+            try (final InputStream input = ZipHelper.openZipStream(processData)) {
+                process.setPath(dataStoreService.getUri(fileName).getPath());
+                dataStoreService.upload(fileName, input);
             } catch (IOException e) {
-                throw new GoodDataException("Unable to access zipped process data at "
-                        + tempFile.getAbsolutePath(), e);
+                throw new GoodDataException("Unable to zip process data", e);
             }
-        } else {
-            if (dataStoreService == null) { // we have no WebDAV support, so let's try send big file by multipart
-                if (logger.isInfoEnabled()) {
-                    logger.info("WebDAV calls not supported - sending huge file using multipart. " +
-                            "Consider adding com.github.lookfirst:sardine to dependencies.");
-                }
+            try {
+                return sendProcess(process, postUri,
+                        PROCESS_TEMPLATE.matches(postUri.toString()) ? HttpMethod.PUT : HttpMethod.POST);
+            } finally {
+                deleteProcessData(fileName);
             }
-            final MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>(2);
-            parts.add("process", process);
-            final HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MEDIA_TYPE_ZIP);
-            parts.add("data", new HttpEntity<>(new FileSystemResource(tempFile), headers));
-            processToSend = parts;
         }
 
+        if (dataStoreService == null) { // we have no WebDAV support, so let's try send big file by multipart
+            if (logger.isInfoEnabled()) {
+                logger.info("WebDAV calls not supported - sending huge file using multipart. " +
+                        "Consider adding com.github.lookfirst:sardine to dependencies.");
+            }
+        }
+        final MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>(2);
+        parts.add("process", process);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MEDIA_TYPE_ZIP);
+        parts.add("data", new HttpEntity<>(new ZippedProcessDataResource(processData), headers));
+        return sendProcess(parts, postUri, HttpMethod.POST);
+    }
+
+    private DataloadProcess sendProcess(Object processToSend, URI postUri, HttpMethod method) {
         try {
             final ResponseEntity<DataloadProcess> response = restTemplate
                     .exchange(postUri, method, new HttpEntity<>(processToSend), DataloadProcess.class);
@@ -599,8 +778,6 @@ public class ProcessService extends AbstractService {
             return response.getBody();
         } catch (GoodDataException | RestClientException e) {
             throw new GoodDataException("Unable to post dataload process.", e);
-        } finally {
-            deleteTempFile(tempFile);
         }
     }
 
@@ -641,21 +818,35 @@ public class ProcessService extends AbstractService {
         }
     }
 
-    private File createTempFile(String prefix, String suffix) {
-        File tempFile;
-        try {
-            tempFile = File.createTempFile(prefix, suffix);
-            tempFile.deleteOnExit();
-        } catch (IOException e) {
-            throw new GoodDataException("Unable to create temporary file", e);
+    /**
+     * Process data zipped on the fly each time the resource is read, its length is unknown.
+     */
+    private static class ZippedProcessDataResource extends AbstractResource {
+
+        private final File processData;
+
+        private ZippedProcessDataResource(final File processData) {
+            this.processData = processData;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return ZipHelper.openZipStream(processData);
+        }
+
+        @Override
+        public String getFilename() {
+            return "process.zip";
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
         }
-        return tempFile;
-    }
 
-    private void deleteTempFile(File file) {
-        notNull(file, "file");
-        if (!file.delete()) {
-            // ignored
+        @Override
+        public String getDescription() {
+            return "zipped process data " + processData;
         }
     }
 }
@@ -16,7 +16,12 @@ import com.gooddata.sdk.service.*;
 import com.gooddata.sdk.service.gdc.DataStoreException;
 import com.gooddata.sdk.service.gdc.DataStoreService;
 import com.gooddata.sdk.service.project.model.ModelService;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+import com.gooddata.sdk.service.util.ZippingInputStream;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -28,13 +33,22 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static com.gooddata.sdk.common.util.Validate.notNullState;
 import static java.lang.String.format;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.springframework.util.StringUtils.isEmpty;
@@ -46,7 +60,16 @@ public class DatasetService extends AbstractService {
 
     public static final UriTemplate UPLOADS_INFO_TEMPLATE = new UriTemplate(UploadsInfo.URI);
     private static final String MANIFEST_FILE_NAME = "upload_info.json";
+    private static final String ARCHIVE_FILE_NAME = "upload.zip";
     private static final String ETL_PULL_DEFAULT_ERROR_MESSAGE = "ETL Pull failed with status %s";
+    /**
+     * ETL pull usually takes long, so the polling starts with {@link GoodDataSettings#getPollSleep()}
+     * and slowly backs off up to this many milliseconds.
+     */
+    static final long ETL_PULL_POLL_MAX_DELAY = 60_000;
+    static final double ETL_PULL_POLL_MULTIPLIER = 1.5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final DataStoreService dataStoreService;
 
@@ -120,6 +143,88 @@ public class DatasetService extends AbstractService {
         return loadDataset(project, getDatasetManifest(project, datasetId), dataset);
     }
 
+    /**
+     * Starts the load of the dataset, whose CSV is streamed into the staging area while the rows are written
+     * by returned {@link DatasetWriter}. Call {@link DatasetWriter#finish()} to complete the upload and trigger
+     * the ETL pull.
+     *
+     * @param project  project to which dataset belongs
+     * @param manifest dataset manifest, its parts define the columns of the written rows
+     * @return writer of the dataset rows
+     * @see #loadDataset(Project, DatasetManifest, InputStream)
+     */
+    public DatasetWriter openDatasetWriter(final Project project, final DatasetManifest manifest) {
+        notNull(project, "project");
+        notNull(manifest, "manifest");
+        return new DatasetWriter(this, project, manifest);
+    }
+
+    /**
+     * Loads incrementally the rows of the dataset past given watermark. Watermark is caller supplied key
+     * increasing with the changes of the rows (i.e. modification time or sequence number).
+     * Only rows with the key greater than the watermark are uploaded, in {@link UploadMode#INCREMENTAL} mode.
+     * When the watermark is null, all rows are loaded in {@link UploadMode#FULL} mode.
+     * <p>
+     * The rows are streamed to the staging area by {@link DatasetWriter}, no load is started when there is no row
+     * past the watermark. Persist the returned watermark and pass it to the next load, the given manifest
+     * is not modified.
+     *
+     * @param project     project to which dataset belongs
+     * @param manifest    dataset manifest
+     * @param rows        source of the rows, mapped by the dataset fields
+     * @param watermarkOf function returning the key of the row compared to the watermark
+     * @param watermark   key of the last loaded row, null to load all rows
+     * @param <W>         type of the watermark
+     * @return {@link FutureResult} of the load task, its value is the watermark to be used by the next load
+     * (the greatest key of the loaded rows)
+     * @throws DatasetException in case the upload failed
+     */
+    public <W extends Comparable<? super W>> FutureResult<W> loadDatasetIncrementally(
+            final Project project, final DatasetManifest manifest, final Iterable<? extends Map<String, ?>> rows,
+            final Function<? super Map<String, ?>, ? extends W> watermarkOf, final W watermark) {
+        notNull(project, "project");
+        notNull(manifest, "manifest");
+        notNull(rows, "rows");
+        notNull(watermarkOf, "watermarkOf");
+        final DatasetManifest loadManifest = copyManifest(manifest);
+        loadManifest.setUploadMode(watermark == null ? UploadMode.FULL : UploadMode.INCREMENTAL);
+
+        DatasetWriter writer = null;
+        try {
+            W newWatermark = watermark;
+            for (Map<String, ?> row : rows) {
+                final W key = watermarkOf.apply(row);
+                if (watermark != null && (key == null || key.compareTo(watermark) <= 0)) {
+                    continue;
+                }
+                if (writer == null) {
+                    writer = openDatasetWriter(project, loadManifest);
+                }
+                writer.writeRow(row);
+                if (key != null && (newWatermark == null || key.compareTo(newWatermark) > 0)) {
+                    newWatermark = key;
+                }
+            }
+            final FutureResult<Void> load = writer == null ? null : writer.finish();
+            return new IncrementalLoadResult<>(load, newWatermark);
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    private static DatasetManifest copyManifest(final DatasetManifest manifest) {
+        final List<DatasetManifest.Part> parts = new ArrayList<>();
+        if (manifest.getParts() != null) {
+            for (DatasetManifest.Part part : manifest.getParts()) {
+                parts.add(new DatasetManifest.Part(part.getUploadMode(), part.getColumnName(), part.getPopulates(),
+                        part.getReferenceKey(), part.getConstraints()));
+            }
+        }
+        return new DatasetManifest(manifest.getDataSet(), manifest.getFile(), parts);
+    }
+
     public FutureResult<Void> loadDatasets(final Project project, DatasetManifest... datasets) {
         return loadDatasets(project, asList(datasets));
     }
@@ -144,25 +249,104 @@ public class DatasetService extends AbstractService {
         notNull(project, "project");
         validateUploadManifests(datasets);
         final List<String> datasetsNames = new ArrayList<>(datasets.size());
+        datasets.forEach(datasetManifest -> datasetsNames.add(datasetManifest.getDataSet()));
+        final String dirPath = "/" + project.getId() + "_" + RandomStringUtils.randomAlphabetic(3) + "/";
         try {
-            final String dirPath = "/" + project.getId() + "_" + RandomStringUtils.randomAlphabetic(3) + "/";
-            for (DatasetManifest datasetManifest : datasets) {
-                datasetsNames.add(datasetManifest.getDataSet());
-                dataStoreService.upload(dirPath + datasetManifest.getFile(), datasetManifest.getSource());
+            final byte[] manifestJson = mapper.writeValueAsBytes(new DatasetManifests(datasets));
+            if (getSettings().isCompressUploads()) {
+                uploadArchive(dirPath, datasets, manifestJson);
+            } else {
+                uploadDatasets(dirPath, datasets);
+                dataStoreService.upload(dirPath + MANIFEST_FILE_NAME, new ByteArrayInputStream(manifestJson));
             }
 
-            final String manifestJson = mapper.writeValueAsString(new DatasetManifests(datasets));
-            final ByteArrayInputStream inputStream = new ByteArrayInputStream(manifestJson.getBytes(UTF_8));
-            dataStoreService.upload(dirPath + MANIFEST_FILE_NAME, inputStream);
-
             return pullLoad(project, dirPath, datasetsNames);
         } catch (IOException e) {
+            deleteStagingDirectory(dirPath);
             throw new DatasetException("Unable to serialize manifest", datasetsNames, e);
         } catch (DataStoreException | GoodDataRestException | RestClientException e) {
+            deleteStagingDirectory(dirPath);
             throw new DatasetException("Unable to load", datasetsNames, e);
         }
     }
 
+    /**
+     * Uploads sources of the given datasets into the staging directory, using up to
+     * {@link GoodDataSettings#getUploadParallelism()} concurrent uploads. The first failure stops the remaining ones,
+     * the method returns once all the started uploads are finished, so the staging directory can be deleted.
+     */
+    private void uploadDatasets(final String dirPath, final Collection<DatasetManifest> datasets) {
+        final int parallelism = Math.min(getSettings().getUploadParallelism(), datasets.size());
+        if (parallelism == 1) {
+            datasets.forEach(datasetManifest ->
+                    dataStoreService.upload(dirPath + datasetManifest.getFile(), datasetManifest.getSource()));
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                new DaemonThreadFactory("gooddata-dataset-upload"));
+        try {
+            final CompletionService<Void> uploads = new ExecutorCompletionService<>(executor);
+            for (DatasetManifest datasetManifest : datasets) {
+                uploads.submit(() -> {
+                    dataStoreService.upload(dirPath + datasetManifest.getFile(), datasetManifest.getSource());
+                    return null;
+                });
+            }
+            for (int i = 0; i < datasets.size(); i++) {
+                uploads.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreException("Interrupted while uploading datasets", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DataStoreException("Unable to upload datasets", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Waits for the running uploads, which don't react to the interruption.
+     */
+    private static void awaitTermination(final ExecutorService executor) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Uploads sources of the given datasets together with the manifest as single zip archive compressed on the fly,
+     * the ETL pull extracts it in the staging directory.
+     */
+    private void uploadArchive(final String dirPath, final Collection<DatasetManifest> datasets,
+                               final byte[] manifestJson) {
+        final Map<String, InputStreamSource> entries = new LinkedHashMap<>();
+        entries.put(MANIFEST_FILE_NAME, () -> new ByteArrayInputStream(manifestJson));
+        datasets.forEach(datasetManifest -> entries.put(datasetManifest.getFile(), datasetManifest::getSource));
+        dataStoreService.upload(dirPath + ARCHIVE_FILE_NAME, new ZippingInputStream(entries));
+    }
+
+    private void deleteStagingDirectory(final String dirPath) {
+        try {
+            dataStoreService.delete(dirPath);
+        } catch (DataStoreException e) {
+            logger.warn("Unable to delete staging directory {}", dirPath, e);
+        }
+    }
+
     private void validateUploadManifests(final Collection<DatasetManifest> datasets) {
         notEmpty(datasets, "datasets");
         for (DatasetManifest datasetManifest : datasets) {
@@ -182,6 +366,9 @@ public class DatasetService extends AbstractService {
         notNull(project.getId(), "project.id");
         final PullTask pullTask = restTemplate
                 .postForObject(Pull.URI, new Pull(dirPath), PullTask.class, project.getId());
+        final long pollSleep = getSettings().getPollSleep();
+        final PollBackoffStrategy backoffStrategy = PollBackoffStrategy.exponential(pollSleep,
+                ETL_PULL_POLL_MULTIPLIER, Math.max(pollSleep, ETL_PULL_POLL_MAX_DELAY));
 
         return new PollResult<>(this, new AbstractPollHandler<TaskStatus, Void>(
                 notNullState(pullTask, "created pull task").getPollUri(), TaskStatus.class, Void.class) {
@@ -201,13 +388,14 @@ public class DatasetService extends AbstractService {
                 throw new DatasetException("Unable to load", datasets, e);
             }
 
+            @Override
+            public PollBackoffStrategy getBackoffStrategy() {
+                return backoffStrategy;
+            }
+
             @Override
             protected void onFinish() {
-                try {
-                    dataStoreService.delete(dirPath);
-                } catch (DataStoreException ignored) {
-                    // todo log?
-                }
+                deleteStagingDirectory(dirPath);
             }
         });
     }
@@ -420,4 +608,53 @@ public class DatasetService extends AbstractService {
             throw new GoodDataException("Unable to get '" + uploadsInfoUri.toString() + "'.", e);
         }
     }
+
+    /**
+     * Result of the incremental load, completed by the new watermark when the load finishes.
+     */
+    private static class IncrementalLoadResult<W> implements FutureResult<W> {
+
+        private final FutureResult<Void> load;
+        private final W watermark;
+
+        private IncrementalLoadResult(final FutureResult<Void> load, final W watermark) {
+            this.load = load;
+            this.watermark = watermark;
+        }
+
+        @Override
+        public boolean isDone() {
+            return load == null || load.isDone();
+        }
+
+        @Override
+        public W get() {
+            if (load != null) {
+                load.get();
+            }
+            return watermark;
+        }
+
+        @Override
+        public W get(final long timeout, final TimeUnit unit) {
+            if (load != null) {
+                load.get(timeout, unit);
+            }
+            return watermark;
+        }
+
+        /**
+         * @return URI used for polling or null when no load was started
+         */
+        @Override
+        public String getPollingUri() {
+            return load == null ? null : load.getPollingUri();
+        }
+
+        @Override
+        public CompletableFuture<W> toCompletableFuture() {
+            return load == null ? CompletableFuture.completedFuture(watermark)
+                    : load.toCompletableFuture().thenApply(ignored -> watermark);
+        }
+    }
 }
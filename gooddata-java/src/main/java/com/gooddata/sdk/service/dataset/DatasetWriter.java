@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataset;
+
+import com.gooddata.sdk.model.dataset.DatasetManifest;
+import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.FutureResult;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes rows of a dataset as CSV directly into the staging area upload started by
+ * {@link DatasetService#openDatasetWriter(Project, DatasetManifest)}.
+ * <p>
+ * Rows are passed to the upload through a bounded pipe, so the writing blocks while the upload is behind and
+ * neither the whole dataset nor its CSV is ever held in memory or written to disk.
+ * Columns are written in the order of the manifest {@link DatasetManifest.Part parts}, dates are formatted
+ * by the {@code date} constraint of their part.
+ * <p>
+ * Call {@link #finish()} to complete the upload and start the load, {@link #close()} aborts unfinished upload.
+ * The instance isn't thread safe and the rows must be written by a single thread.
+ */
+public class DatasetWriter implements AutoCloseable {
+
+    /**
+     * Size of the pipe buffer between the writer and the upload.
+     */
+    public static final int PIPE_BUFFER_SIZE = 1024 * 1024;
+
+    private static final String DATE_CONSTRAINT = "date";
+
+    private final String dataset;
+    private final List<String> fields;
+    private final List<DateTimeFormatter> dateFormats;
+    private final PipedInputStream source;
+    private final PipedOutputStream pipe;
+    private final Writer writer;
+    private final Future<FutureResult<Void>> load;
+    private boolean closed;
+
+    DatasetWriter(final DatasetService service, final Project project, final DatasetManifest manifest) {
+        notNull(service, "service");
+        notNull(project, "project");
+        notNull(manifest, "manifest");
+        notNull(manifest.getParts(), "manifest.parts");
+        this.dataset = manifest.getDataSet();
+
+        final List<String> columns = new ArrayList<>(manifest.getParts().size());
+        final List<String> fields = new ArrayList<>(manifest.getParts().size());
+        final List<DateTimeFormatter> dateFormats = new ArrayList<>(manifest.getParts().size());
+        for (DatasetManifest.Part part : manifest.getParts()) {
+            columns.add(part.getColumnName());
+            fields.add(part.getPopulates() != null && part.getPopulates().size() == 1
+                    ? part.getPopulates().get(0) : part.getColumnName());
+            final String dateFormat = part.getConstraints() == null ? null : part.getConstraints().get(DATE_CONSTRAINT);
+            dateFormats.add(dateFormat == null ? DateTimeFormatter.ISO_LOCAL_DATE : DateTimeFormatter.ofPattern(dateFormat));
+        }
+        this.fields = Collections.unmodifiableList(fields);
+        this.dateFormats = dateFormats;
+
+        this.source = new PipedInputStream(PIPE_BUFFER_SIZE);
+        try {
+            this.pipe = new PipedOutputStream(source);
+        } catch (IOException e) {
+            throw new DatasetException("Unable to open upload", dataset, e);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(pipe, UTF_8));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor(
+                new DaemonThreadFactory("gooddata-dataset-writer"));
+        try {
+            this.load = executor.submit(() -> {
+                try {
+                    return service.loadDataset(project, manifest, source);
+                } finally {
+                    // unblocks the writer when the upload fails before the whole CSV was read
+                    source.close();
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        write(columns);
+    }
+
+    /**
+     * @return names of the dataset fields in the order of the columns
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Writes row of given values in the order of the manifest parts (i.e. {@link #getFields() fields}).
+     *
+     * @param values values of the row, null is written as empty value
+     * @throws DatasetException in case the number of values doesn't match the columns or the upload failed
+     */
+    public void writeRow(final Object... values) {
+        notNull(values, "values");
+        if (values.length != fields.size()) {
+            throw new DatasetException("Expected " + fields.size() + " values but got " + values.length, dataset);
+        }
+        final List<String> row = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            row.add(format(values[i], dateFormats.get(i)));
+        }
+        write(row);
+    }
+
+    /**
+     * Writes row of given values mapped by the dataset fields the manifest parts populate. Missing fields are
+     * written as empty values.
+     *
+     * @param values values of the row mapped by the dataset field
+     * @throws DatasetException in case the upload failed
+     */
+    public void writeRow(final Map<String, ?> values) {
+        notNull(values, "values");
+        final Object[] row = new Object[fields.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = values.get(fields.get(i));
+        }
+        writeRow(row);
+    }
+
+    /**
+     * Completes the upload of the written rows and starts the load of the dataset.
+     *
+     * @return {@link FutureResult} of the load task
+     * @throws DatasetException in case the upload failed
+     */
+    public FutureResult<Void> finish() {
+        if (closed) {
+            throw new IllegalStateException("Dataset writer is already closed");
+        }
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw uploadFailure(e);
+        }
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatasetException("Interrupted while uploading", dataset, e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Aborts the upload when not {@link #finish() finished}, no data are loaded in such case.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            // closing the reading end fails the upload, while closing the writing end would complete it
+            try {
+                source.close();
+            } catch (IOException ignored) {
+                // the upload is aborted anyway
+            }
+            load.cancel(true);
+        }
+    }
+
+    private void write(final List<String> values) {
+        if (closed) {
+            throw new IllegalStateException("Dataset writer is already closed");
+        }
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(values.get(i));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw uploadFailure(e);
+        }
+    }
+
+    private void writeValue(final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+        } else {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String format(final Object value, final DateTimeFormatter dateFormat) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof TemporalAccessor) {
+            return dateFormat.format((TemporalAccessor) value);
+        } else {
+            return value.toString();
+        }
+    }
+
+    /**
+     * The pipe breaks when the upload ends prematurely, so the failure of the upload is reported when known.
+     */
+    private DatasetException uploadFailure(final IOException e) {
+        closed = true;
+        if (load.isDone() && !load.isCancelled()) {
+            try {
+                load.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ee) {
+                return rethrow(ee);
+            }
+        }
+        return new DatasetException("Unable to write dataset", dataset, e);
+    }
+
+    private DatasetException rethrow(final ExecutionException e) {
+        if (e.getCause() instanceof DatasetException) {
+            return (DatasetException) e.getCause();
+        }
+        return new DatasetException("Unable to upload", dataset, e.getCause());
+    }
+}
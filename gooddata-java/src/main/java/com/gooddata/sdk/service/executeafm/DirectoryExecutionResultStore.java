@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * {@link ExecutionResultStore} keeping each value in a separate file of the given directory. The values left
+ * in the directory by its previous use (e.g. by other JVM) are removed on creation, as the cache doesn't know
+ * their expiration.
+ */
+class DirectoryExecutionResultStore implements ExecutionResultStore {
+
+    private static final String SUFFIX = ".json";
+    private static final String TEMP_PREFIX = "result";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    DirectoryExecutionResultStore(final Path directory) {
+        this.directory = notNull(directory, "directory");
+        isTrue(Files.isDirectory(directory), "directory must be an existing directory");
+        removeStale();
+    }
+
+    private void removeStale() {
+        try {
+            final DirectoryStream<Path> files = Files.newDirectoryStream(directory, file -> {
+                final String name = file.getFileName().toString();
+                return name.endsWith(SUFFIX) || (name.startsWith(TEMP_PREFIX) && name.endsWith(TEMP_SUFFIX));
+            });
+            try {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            } finally {
+                files.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove stale values of " + directory, e);
+        }
+    }
+
+    @Override
+    public byte[] get(final String key) {
+        try {
+            return Files.readAllBytes(file(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + key, e);
+        }
+    }
+
+    @Override
+    public void put(final String key, final byte[] value) {
+        final Path file = file(key);
+        try {
+            final Path temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+            try {
+                Files.write(temp, value);
+                try {
+                    Files.move(temp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write " + key, e);
+        }
+    }
+
+    @Override
+    public void remove(final String key) {
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove " + key, e);
+        }
+    }
+
+    private Path file(final String key) {
+        try {
+            return directory.resolve(URLEncoder.encode(key, "UTF-8") + SUFFIX);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@
  */
 package com.gooddata.sdk.service.executeafm;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
 import com.gooddata.sdk.model.executeafm.Execution;
@@ -14,11 +15,27 @@ import com.gooddata.sdk.model.executeafm.response.ExecutionResponse;
 import com.gooddata.sdk.model.executeafm.result.ExecutionResult;
 import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.*;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
 import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.util.Assert.isTrue;
 
 /**
  * Service for executing reports with new visualization structures like AFM or Visualization Object.
@@ -33,11 +50,11 @@ public class ExecuteAfmService extends AbstractService {
     /**
      * URI string containing template link to the {@code /executeAfm} resource.
      */
-    public static final String AFM_EXECUTION_URI = "/gdc/app/projects/{projectId}/executeAfm";
+    public static final String AFM_EXECUTION_URI = Execution.URI;
     /**
      * URI string containing template link to the {@code /executeVisualization} resource.
      */
-    public static final String VISUALIZATION_EXECUTION_URI = "/gdc/app/projects/{projectId}/executeVisualization";
+    public static final String VISUALIZATION_EXECUTION_URI = VisualizationExecution.URI;
     /**
      * Query param representing offset of result data returned by AFM execution.
      * Can be used for offset query param value replacement in {@link ExecutionResponse#getExecutionResultUri()} link.
@@ -49,6 +66,18 @@ public class ExecuteAfmService extends AbstractService {
      */
     public static final String RESULT_LIMIT = "limit";
 
+    /**
+     * Milliseconds to wait before the second poll for execution result. Executions are usually computed quickly,
+     * so the polling starts fast and backs off up to {@link GoodDataSettings#getPollSleep()}.
+     */
+    static final long RESULT_POLL_INITIAL_DELAY = 100;
+    static final double RESULT_POLL_MULTIPLIER = 2;
+
+    /**
+     * Minutes to wait for the whole result fetched by {@link #fetchAll(ExecutionResponse, int, int)}.
+     */
+    public static final long DEFAULT_FETCH_ALL_TIMEOUT_MINUTES = 30;
+
     /**
      * Constructor.
      * @param restTemplate rest template
@@ -116,7 +145,8 @@ public class ExecuteAfmService extends AbstractService {
      * @return future of execution result
      */
     public FutureResult<ExecutionResult> getResult(final ExecutionResponse executionResponse) {
-        return new PollResult<>(this, new ExecutionPollHandler(notNull(executionResponse, "executionResponse").getExecutionResultUri()));
+        return new PollResult<>(this, new ExecutionPollHandler(notNull(executionResponse, "executionResponse").getExecutionResultUri(),
+                getResultBackoffStrategy()));
     }
 
     /**
@@ -126,21 +156,283 @@ public class ExecuteAfmService extends AbstractService {
      * @return future of execution result
      */
     public FutureResult<ExecutionResult> getResult(final ExecutionResponse executionResponse, final ResultPage page) {
+        return new PollResult<>(this, new ExecutionPollHandler(getPagedResultUri(executionResponse, page),
+                getResultBackoffStrategy()));
+    }
+
+    /**
+     * Reads result of given response in streaming fashion, the result data are parsed directly from HTTP response
+     * into primitive values and passed to the visitor row by row, so even large results are read in constant memory.
+     * The calling thread is blocked until the result is computed and read, the visitor is called by the thread
+     * of the {@link AsyncRequestExecutor} issuing the request (see {@link GoodDataSettings#setAsyncRequestExecutor}).
+     *
+     * @param executionResponse response to read the result
+     * @param visitor           visitor receiving the result
+     * @throws ExecutionResultException when the result can't be computed
+     * @see #readResult(ExecutionResponse, ExecutionResultVisitor, long, TimeUnit)
+     */
+    public void readResult(final ExecutionResponse executionResponse, final ExecutionResultVisitor visitor) {
+        readResult(executionResponse, visitor, 0, null);
+    }
+
+    /**
+     * Reads result of given response in streaming fashion, waiting up to given timeout for the result
+     * to be computed.
+     *
+     * @param executionResponse response to read the result
+     * @param visitor           visitor receiving the result
+     * @param timeout           maximum time to wait for the result
+     * @param unit              timeout unit, no timeout is applied when null
+     * @throws ExecutionResultException when the result can't be computed
+     * @throws GoodDataException when the result is not computed within the timeout
+     * @see #readResult(ExecutionResponse, ExecutionResultVisitor)
+     */
+    public void readResult(final ExecutionResponse executionResponse, final ExecutionResultVisitor visitor,
+                           final long timeout, final TimeUnit unit) {
+        readResult(notNull(executionResponse, "executionResponse").getExecutionResultUri(), visitor, timeout, unit);
+    }
+
+    /**
+     * Reads page of result of given response in streaming fashion.
+     *
+     * @param executionResponse response to read the result
+     * @param page              desired result page specification
+     * @param visitor           visitor receiving the result
+     * @throws ExecutionResultException when the result can't be computed
+     * @see #readResult(ExecutionResponse, ExecutionResultVisitor)
+     */
+    public void readResult(final ExecutionResponse executionResponse, final ResultPage page,
+                           final ExecutionResultVisitor visitor) {
+        readResult(executionResponse, page, visitor, 0, null);
+    }
+
+    /**
+     * Reads page of result of given response in streaming fashion, waiting up to given timeout for the result
+     * to be computed.
+     *
+     * @param executionResponse response to read the result
+     * @param page              desired result page specification
+     * @param visitor           visitor receiving the result
+     * @param timeout           maximum time to wait for the result
+     * @param unit              timeout unit, no timeout is applied when null
+     * @throws ExecutionResultException when the result can't be computed
+     * @throws GoodDataException when the result is not computed within the timeout
+     * @see #readResult(ExecutionResponse, ExecutionResultVisitor)
+     */
+    public void readResult(final ExecutionResponse executionResponse, final ResultPage page,
+                           final ExecutionResultVisitor visitor, final long timeout, final TimeUnit unit) {
+        readResult(getPagedResultUri(executionResponse, page), visitor, timeout, unit);
+    }
+
+    private void readResult(final String resultUri, final ExecutionResultVisitor visitor,
+                            final long timeout, final TimeUnit unit) {
+        notNull(visitor, "visitor");
+        final ExecutionResultReader reader = new ExecutionResultReader(getResponseMapper());
+        readComputedResult(resultUri, response -> {
+            reader.read(response.getBody(), visitor);
+            return null;
+        }, timeout, unit);
+    }
+
+    /**
+     * Fetches whole result of given response by pages, which are fetched concurrently. The first page is fetched
+     * once the result is computed, the remaining ones are then fetched by up to {@code parallelism} requests
+     * executed by threads dedicated to this call and stitched together with the first one into a single result.
+     * The calling thread is blocked until the whole result is fetched, but at most
+     * {@link #DEFAULT_FETCH_ALL_TIMEOUT_MINUTES}.
+     *
+     * @param executionResponse response to get the result
+     * @param pageSize          maximum number of items per dimension in one page
+     * @param parallelism       maximum number of pages fetched at once
+     * @return whole execution result
+     * @throws ExecutionResultException when the result can't be computed
+     * @throws GoodDataException when the result is not fetched within the timeout
+     * @see #fetchAll(ExecutionResponse, int, int, long, TimeUnit)
+     */
+    public ExecutionResult fetchAll(final ExecutionResponse executionResponse, final int pageSize,
+                                    final int parallelism) {
+        return fetchAll(executionResponse, pageSize, parallelism, DEFAULT_FETCH_ALL_TIMEOUT_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    /**
+     * Fetches whole result of given response by pages, which are fetched concurrently, waiting up to given timeout
+     * for the whole result. When any page can't be fetched or the timeout elapses, fetching of the remaining
+     * pages is cancelled.
+     *
+     * @param executionResponse response to get the result
+     * @param pageSize          maximum number of items per dimension in one page
+     * @param parallelism       maximum number of pages fetched at once
+     * @param timeout           maximum time to wait for the whole result
+     * @param unit              timeout unit
+     * @return whole execution result
+     * @throws ExecutionResultException when the result can't be computed
+     * @throws GoodDataException when the result is not fetched within the timeout
+     * @see #fetchAll(ExecutionResponse, int, int)
+     */
+    public ExecutionResult fetchAll(final ExecutionResponse executionResponse, final int pageSize,
+                                    final int parallelism, final long timeout, final TimeUnit unit) {
+        notNull(executionResponse, "executionResponse");
+        isTrue(pageSize > 0, "pageSize must be greater than zero");
+        isTrue(parallelism > 0, "parallelism must be greater than zero");
+        notNull(unit, "unit");
+        final Timeout pagesTimeout = new Timeout(unit.toNanos(timeout));
+
+        final int dimensions = notNull(executionResponse.getDimensions(), "executionResponse.dimensions").size();
+        final ResultPages pages = new ResultPages(awaitResult(readPageAsync(executionResponse,
+                ResultPages.firstPage(dimensions, pageSize), pagesTimeout, null)), pageSize);
+        if (pages.size() == 1) {
+            return pages.stitch();
+        }
+
+        // each request reads every n-th page, so at most parallelism pages are fetched at once
+        final int requests = Math.min(parallelism, pages.size() - 1);
+        final ExecutorService executor = Executors.newFixedThreadPool(requests,
+                new DaemonThreadFactory("gooddata-result-page"));
+        final Queue<CompletableFuture<ExecutionResult>> pageFutures = new ConcurrentLinkedQueue<>();
+        final List<CompletableFuture<Void>> futures = IntStream.range(0, requests)
+                .mapToObj(request -> {
+                    CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+                    for (int index = request + 1; index < pages.size(); index += requests) {
+                        final int pageIndex = index;
+                        future = future.thenCompose(ignored -> {
+                            final CompletableFuture<ExecutionResult> page = readPageAsync(executionResponse,
+                                    pages.getPage(pageIndex), pagesTimeout, executor);
+                            pageFutures.add(page);
+                            return page;
+                        }).thenAccept(result -> pages.set(pageIndex, result));
+                    }
+                    return future;
+                })
+                .collect(toList());
+        final CompletableFuture<Void> fetched = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        // fails without waiting for the other requests when any of them fails
+        futures.forEach(future -> future.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                fetched.completeExceptionally(failure);
+            }
+        }));
+        try {
+            await(fetched, Math.max(0, pagesTimeout.remainingNanos()), TimeUnit.NANOSECONDS);
+        } finally {
+            // stops reading of the remaining pages when failed, no-op otherwise
+            pageFutures.forEach(future -> future.cancel(false));
+            executor.shutdownNow();
+        }
+        return pages.stitch();
+    }
+
+    private static <T> T awaitResult(final CompletableFuture<T> future) {
+        try {
+            return await(future, 0, null);
+        } finally {
+            // stops polling when the waiting was interrupted, no-op otherwise
+            future.cancel(false);
+        }
+    }
+
+    private CompletableFuture<ExecutionResult> readPageAsync(final ExecutionResponse executionResponse,
+                                                             final ResultPage page, final Timeout timeout,
+                                                             final Executor requestExecutor) {
+        return readComputedResultAsync(getPagedResultUri(executionResponse, page), response -> {
+            final ExecutionResult result = extractData(response, ExecutionResult.class);
+            if (result == null) {
+                throw new GoodDataException("Empty execution result page at offset " + page.getOffsetsQueryParam());
+            }
+            return result;
+        }, Math.max(0, timeout.remainingNanos()), TimeUnit.NANOSECONDS, requestExecutor);
+    }
+
+    /**
+     * Reads the result using the given extractor once it's computed, the calling thread waits meanwhile.
+     */
+    private <T> T readComputedResult(final String resultUri, final ResponseExtractor<T> extractor,
+                                     final long timeout, final TimeUnit unit) {
+        return awaitResult(readComputedResultAsync(resultUri, extractor, timeout, unit, null));
+    }
+
+    /**
+     * Polls for the result on the {@link PollScheduler} and reads it using the given extractor once it's computed.
+     * The requests are executed by the given executor, or by the {@link AsyncRequestExecutor} when null.
+     */
+    private <T> CompletableFuture<T> readComputedResultAsync(final String resultUri,
+                                                             final ResponseExtractor<T> extractor,
+                                                             final long timeout, final TimeUnit unit,
+                                                             final Executor requestExecutor) {
+        final CompletableFuture<T> polling = pollAsync(URI.create(resultUri), extractor, getResultBackoffStrategy(),
+                timeout, unit, requestExecutor);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        polling.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(translateReadFailure(failure));
+            }
+        });
+        // propagates the cancellation to the polling, no-op when completed by it
+        result.whenComplete((value, failure) -> polling.cancel(false));
+        return result;
+    }
+
+    private static Throwable translateReadFailure(final Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof GoodDataRestException) {
+            return new ExecutionResultException((GoodDataRestException) cause);
+        } else if (cause instanceof RestClientException) {
+            return new GoodDataException("Unable to read execution result", cause);
+        }
+        return cause;
+    }
+
+    /**
+     * @return object mapper reading the results the same way as the REST template does
+     */
+    ObjectMapper getResultMapper() {
+        return getResponseMapper();
+    }
+
+    private static String getPagedResultUri(final ExecutionResponse executionResponse, final ResultPage page) {
         final String executionResultUri = notNull(executionResponse, "executionResponse").getExecutionResultUri();
 
-        final String pagedResultUri = UriComponentsBuilder.fromUriString(executionResultUri)
+        return UriComponentsBuilder.fromUriString(executionResultUri)
                 .replaceQueryParam(RESULT_OFFSET, page.getOffsetsQueryParam())
                 .replaceQueryParam(RESULT_LIMIT, page.getLimitsQueryParam())
                 .build(true)
                 .toUriString();
+    }
+
+    private PollBackoffStrategy getResultBackoffStrategy() {
+        final long pollSleep = getSettings().getPollSleep();
+        return PollBackoffStrategy.exponential(Math.min(RESULT_POLL_INITIAL_DELAY, pollSleep), RESULT_POLL_MULTIPLIER,
+                pollSleep);
+    }
+
+    private static final class Timeout {
+        private final long start = System.nanoTime();
+        private final long nanos;
 
-        return new PollResult<>(this, new ExecutionPollHandler(pagedResultUri));
+        private Timeout(final long nanos) {
+            this.nanos = nanos;
+        }
+
+        private long remainingNanos() {
+            return nanos - (System.nanoTime() - start);
+        }
     }
 
     private static final class ExecutionPollHandler extends SimplePollHandler<ExecutionResult> {
 
-        ExecutionPollHandler(String pollingUri) {
+        private final PollBackoffStrategy backoffStrategy;
+
+        ExecutionPollHandler(String pollingUri, PollBackoffStrategy backoffStrategy) {
             super(pollingUri, ExecutionResult.class);
+            this.backoffStrategy = backoffStrategy;
+        }
+
+        @Override
+        public PollBackoffStrategy getBackoffStrategy() {
+            return backoffStrategy;
         }
 
         @Override
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.executeafm.Execution;
+import com.gooddata.sdk.model.executeafm.VisualizationExecution;
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult;
+import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.FutureResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Client side cache of execution results placed in front of {@link ExecuteAfmService}. Repeated executions
+ * of the same {@link Execution} or {@link VisualizationExecution} in the same project are served from the cache
+ * without any request to the API.
+ * <p>
+ * The results are keyed by a hash of the canonically serialized execution and the project ID. They are kept
+ * serialized in the given {@link ExecutionResultStore}, so each call returns a new result instance.
+ * Entries expire after the given time to live and the least recently used ones are evicted when the total size
+ * of the serialized results exceeds the given maximum.
+ */
+public class ExecutionResultCache {
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final ObjectMapper mapper;
+
+    private final ExecuteAfmService service;
+    private final ExecutionResultStore store;
+    private final long maxSize;
+    private final long ttl;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Creates new cache keeping the results {@link ExecutionResultStore#onHeap() on heap}.
+     *
+     * @param service service used to execute on cache miss
+     * @param maxSize maximum total size of the cached results in bytes
+     * @param ttl     time to live of the cached results
+     * @param unit    time to live unit
+     */
+    public ExecutionResultCache(final ExecuteAfmService service, final long maxSize, final long ttl,
+                                final TimeUnit unit) {
+        this(service, ExecutionResultStore.onHeap(), maxSize, ttl, unit);
+    }
+
+    /**
+     * Creates new cache keeping the results in the given store.
+     *
+     * @param service service used to execute on cache miss
+     * @param store   store of the serialized results
+     * @param maxSize maximum total size of the cached results in bytes
+     * @param ttl     time to live of the cached results
+     * @param unit    time to live unit
+     */
+    public ExecutionResultCache(final ExecuteAfmService service, final ExecutionResultStore store,
+                                final long maxSize, final long ttl, final TimeUnit unit) {
+        this.service = notNull(service, "service");
+        this.mapper = notNull(service.getResultMapper(), "service.resultMapper");
+        this.store = notNull(store, "store");
+        isTrue(maxSize > 0, "maxSize must be greater than zero");
+        isTrue(ttl > 0, "ttl must be greater than zero");
+        this.maxSize = maxSize;
+        this.ttl = notNull(unit, "unit").toMillis(ttl);
+    }
+
+    /**
+     * Get result of the given AFM execution, executing it only when the result isn't cached.
+     *
+     * @param project   project of the execution
+     * @param execution execution
+     * @return future of execution result
+     * @see ExecuteAfmService#executeAfm(Project, Execution)
+     */
+    public FutureResult<ExecutionResult> getResult(final Project project, final Execution execution) {
+        final String key = key(project, notNull(execution, "execution"));
+        final FutureResult<ExecutionResult> cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        return new CachingFutureResult(key, service.getResult(service.executeAfm(project, execution)));
+    }
+
+    /**
+     * Get result of the given visualization execution, executing it only when the result isn't cached.
+     *
+     * @param project   project of the execution
+     * @param execution execution
+     * @return future of execution result
+     * @see ExecuteAfmService#executeVisualization(Project, VisualizationExecution)
+     */
+    public FutureResult<ExecutionResult> getResult(final Project project, final VisualizationExecution execution) {
+        final String key = key(project, notNull(execution, "execution"));
+        final FutureResult<ExecutionResult> cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+        return new CachingFutureResult(key, service.getResult(service.executeVisualization(project, execution)));
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        final List<String> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(entries.keySet());
+            entries.clear();
+            size = 0;
+        }
+        removed.forEach(this::removeFromStore);
+    }
+
+    static String key(final Project project, final Object execution) {
+        final String projectId = notNull(notNull(project, "project").getId(), "project.id");
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(CANONICAL_MAPPER.writeValueAsBytes(execution));
+            return projectId + "-" + String.format("%064x", new BigInteger(1, digest));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new GoodDataException("Unable to compute execution cache key", e);
+        }
+    }
+
+    private FutureResult<ExecutionResult> getCached(final String key) {
+        final Entry entry;
+        final boolean expired;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            expired = entry.expiresAt < System.currentTimeMillis();
+            if (expired) {
+                remove(key);
+            }
+        }
+        if (expired) {
+            removeFromStore(key);
+            return null;
+        }
+        try {
+            final byte[] value = store.get(key);
+            if (value != null) {
+                return new CachedFutureResult(mapper.readValue(value, ExecutionResult.class), entry.pollingUri);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read cached execution result {}", key, e);
+        }
+        synchronized (this) {
+            if (entries.get(key) == entry) {
+                remove(key);
+            }
+        }
+        return null;
+    }
+
+    private void put(final String key, final String pollingUri, final ExecutionResult result) {
+        final byte[] value;
+        try {
+            value = mapper.writeValueAsBytes(result);
+            if (value.length > maxSize) {
+                return;
+            }
+            store.put(key, value);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to cache execution result {}", key, e);
+            return;
+        }
+        final List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            remove(key);
+            entries.put(key, new Entry(System.currentTimeMillis() + ttl, value.length, pollingUri));
+            size += value.length;
+            final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                final Map.Entry<String, Entry> next = eldest.next();
+                size -= next.getValue().size;
+                evicted.add(next.getKey());
+                eldest.remove();
+            }
+        }
+        evicted.forEach(this::removeFromStore);
+    }
+
+    private void remove(final String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.size;
+        }
+    }
+
+    private void removeFromStore(final String key) {
+        try {
+            store.remove(key);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to remove cached execution result {}", key, e);
+        }
+    }
+
+    private static class Entry {
+        private final long expiresAt;
+        private final int size;
+        private final String pollingUri;
+
+        private Entry(final long expiresAt, final int size, final String pollingUri) {
+            this.expiresAt = expiresAt;
+            this.size = size;
+            this.pollingUri = pollingUri;
+        }
+    }
+
+    private static class CachedFutureResult implements FutureResult<ExecutionResult> {
+        private final ExecutionResult result;
+        private final String pollingUri;
+
+        private CachedFutureResult(final ExecutionResult result, final String pollingUri) {
+            this.result = result;
+            this.pollingUri = pollingUri;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public ExecutionResult get() {
+            return result;
+        }
+
+        @Override
+        public ExecutionResult get(final long timeout, final TimeUnit unit) {
+            return result;
+        }
+
+        @Override
+        public String getPollingUri() {
+            return pollingUri;
+        }
+
+        @Override
+        public CompletableFuture<ExecutionResult> toCompletableFuture() {
+            return CompletableFuture.completedFuture(result);
+        }
+    }
+
+    private class CachingFutureResult implements FutureResult<ExecutionResult> {
+        private final String key;
+        private final FutureResult<ExecutionResult> delegate;
+        private final AtomicBoolean cached = new AtomicBoolean();
+
+        private CachingFutureResult(final String key, final FutureResult<ExecutionResult> delegate) {
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public ExecutionResult get() {
+            return cache(delegate.get());
+        }
+
+        @Override
+        public ExecutionResult get(final long timeout, final TimeUnit unit) {
+            return cache(delegate.get(timeout, unit));
+        }
+
+        @Override
+        public String getPollingUri() {
+            return delegate.getPollingUri();
+        }
+
+        @Override
+        public CompletableFuture<ExecutionResult> toCompletableFuture() {
+            return delegate.toCompletableFuture().thenApply(this::cache);
+        }
+
+        private ExecutionResult cache(final ExecutionResult result) {
+            if (result != null && cached.compareAndSet(false, true)) {
+                put(key, delegate.getPollingUri(), result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gooddata.sdk.model.executeafm.result.Paging;
+import com.gooddata.sdk.model.executeafm.result.ResultHeaderItem;
+import com.gooddata.sdk.model.executeafm.result.Warning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Reads execution result JSON directly from the stream and passes it to {@link ExecutionResultVisitor}
+ * without materializing the result data.
+ */
+class ExecutionResultReader {
+
+    private static final String ROOT = "executionResult";
+
+    private static final TypeReference<List<List<List<ResultHeaderItem>>>> HEADER_ITEMS_TYPE =
+            new TypeReference<List<List<List<ResultHeaderItem>>>>() {};
+    private static final TypeReference<List<List<List<String>>>> TOTALS_TYPE =
+            new TypeReference<List<List<List<String>>>>() {};
+    private static final TypeReference<List<Warning>> WARNINGS_TYPE = new TypeReference<List<Warning>>() {};
+
+    private final ObjectMapper mapper;
+
+    ExecutionResultReader(final ObjectMapper mapper) {
+        this.mapper = notNull(mapper, "mapper");
+    }
+
+    /**
+     * Reads execution result from the given stream.
+     *
+     * @param body    stream containing execution result JSON, empty stream is considered as no result
+     * @param visitor visitor receiving the result
+     * @throws IOException when the stream can't be read or doesn't contain execution result
+     */
+    void read(final InputStream body, final ExecutionResultVisitor visitor) throws IOException {
+        notNull(visitor, "visitor");
+        final JsonParser parser = mapper.getFactory().createParser(notNull(body, "body"));
+        try {
+            if (parser.nextToken() == null) {
+                return;
+            }
+            expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+            expect(parser, parser.nextToken(), JsonToken.FIELD_NAME);
+            if (!ROOT.equals(parser.getCurrentName())) {
+                throw new JsonParseException(parser, "Expected " + ROOT + " but got " + parser.getCurrentName());
+            }
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "data":
+                        readData(parser, visitor);
+                        break;
+                    case "paging":
+                        visitor.visitPaging(parser.readValueAs(Paging.class));
+                        break;
+                    case "headerItems":
+                        visitor.visitHeaderItems(parser.readValueAs(HEADER_ITEMS_TYPE));
+                        break;
+                    case "totals":
+                        visitor.visitTotals(parser.readValueAs(TOTALS_TYPE));
+                        break;
+                    case "totalTotals":
+                        visitor.visitTotalTotals(parser.readValueAs(TOTALS_TYPE));
+                        break;
+                    case "warnings":
+                        visitor.visitWarnings(parser.readValueAs(WARNINGS_TYPE));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static void readData(final JsonParser parser, final ExecutionResultVisitor visitor) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        final Row row = new Row();
+        // the dimensionality is decided by the first non-null element, null rows may precede the first array
+        int leadingNulls = 0;
+        JsonToken token = parser.nextToken();
+        while (token == JsonToken.VALUE_NULL) {
+            leadingNulls++;
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.START_ARRAY) {
+            if (token != JsonToken.END_ARRAY || leadingNulls > 0) {
+                row.read(parser, token, leadingNulls);
+                visitor.visitRow(0, row.values(), row.nulls);
+            }
+            return;
+        }
+        int index = 0;
+        row.clear();
+        for (; index < leadingNulls; index++) {
+            visitor.visitRow(index, row.values(), row.nulls);
+        }
+        while (token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_ARRAY) {
+                row.read(parser, parser.nextToken(), 0);
+            } else {
+                expect(parser, token, JsonToken.VALUE_NULL);
+                row.clear();
+            }
+            visitor.visitRow(index++, row.values(), row.nulls);
+            token = parser.nextToken();
+        }
+    }
+
+    private static void expect(final JsonParser parser, final JsonToken actual, final JsonToken expected)
+            throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but got " + actual);
+        }
+    }
+
+    /**
+     * Buffer of single data row reused for all rows of the result.
+     */
+    private static class Row {
+        private final BitSet nulls = new BitSet();
+        private double[] buffer = new double[16];
+        private double[] values = new double[0];
+        private int size;
+
+        private void clear() {
+            size = 0;
+            nulls.clear();
+        }
+
+        private void read(final JsonParser parser, JsonToken token, final int leadingNulls) throws IOException {
+            clear();
+            for (int i = 0; i < leadingNulls; i++) {
+                add(Double.NaN, true);
+            }
+            while (token != JsonToken.END_ARRAY) {
+                add(readValue(parser, token), token == JsonToken.VALUE_NULL);
+                token = parser.nextToken();
+            }
+        }
+
+        private void add(final double value, final boolean isNull) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size] = value;
+            if (isNull) {
+                nulls.set(size);
+            }
+            size++;
+        }
+
+        private double[] values() {
+            if (values.length != size) {
+                values = new double[size];
+            }
+            System.arraycopy(buffer, 0, values, 0, size);
+            return values;
+        }
+
+        private static double readValue(final JsonParser parser, final JsonToken token) throws IOException {
+            switch (token) {
+                case VALUE_NULL:
+                    return Double.NaN;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return parser.getDoubleValue();
+                case VALUE_STRING:
+                    try {
+                        return Double.parseDouble(parser.getText());
+                    } catch (NumberFormatException e) {
+                        throw new JsonParseException(parser, "Non-numeric value " + parser.getText(), e);
+                    }
+                default:
+                    throw new JsonParseException(parser, "Unexpected data value " + token);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage of serialized execution results used by {@link ExecutionResultCache}. The cache takes care of expiration
+ * and eviction, the store just keeps the values. Implementations must be thread-safe.
+ */
+public interface ExecutionResultStore {
+
+    /**
+     * @param key cache key
+     * @return stored value or null when there's none
+     */
+    byte[] get(String key);
+
+    /**
+     * @param key   cache key
+     * @param value value to store
+     */
+    void put(String key, byte[] value);
+
+    /**
+     * @param key cache key
+     */
+    void remove(String key);
+
+    /**
+     * @return store keeping the values on heap
+     */
+    static ExecutionResultStore onHeap() {
+        final Map<String, byte[]> values = new ConcurrentHashMap<>();
+        return new ExecutionResultStore() {
+            @Override
+            public byte[] get(final String key) {
+                return values.get(key);
+            }
+
+            @Override
+            public void put(final String key, final byte[] value) {
+                values.put(key, value);
+            }
+
+            @Override
+            public void remove(final String key) {
+                values.remove(key);
+            }
+        };
+    }
+
+    /**
+     * @return store keeping the values in direct byte buffers outside of heap
+     */
+    static ExecutionResultStore offHeap() {
+        final Map<String, ByteBuffer> values = new ConcurrentHashMap<>();
+        return new ExecutionResultStore() {
+            @Override
+            public byte[] get(final String key) {
+                final ByteBuffer buffer = values.get(key);
+                if (buffer == null) {
+                    return null;
+                }
+                final byte[] value = new byte[buffer.capacity()];
+                buffer.duplicate().get(value);
+                return value;
+            }
+
+            @Override
+            public void put(final String key, final byte[] value) {
+                final ByteBuffer buffer = ByteBuffer.allocateDirect(value.length);
+                buffer.put(value);
+                // Buffer cast keeps the call binary compatible with Java 8
+                ((Buffer) buffer).flip();
+                values.put(key, buffer);
+            }
+
+            @Override
+            public void remove(final String key) {
+                values.remove(key);
+            }
+        };
+    }
+
+    /**
+     * Creates store keeping the values in files of the given directory. The values left in the directory
+     * by its previous use are removed, so the directory must not be shared by other stores.
+     *
+     * @param directory existing directory to store the values in, one file per value
+     * @return store keeping the values in files of the given directory
+     */
+    static ExecutionResultStore directory(final Path directory) {
+        return new DirectoryExecutionResultStore(directory);
+    }
+}
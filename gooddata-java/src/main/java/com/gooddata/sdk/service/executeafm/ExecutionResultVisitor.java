@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.gooddata.sdk.model.executeafm.result.Paging;
+import com.gooddata.sdk.model.executeafm.result.ResultHeaderItem;
+import com.gooddata.sdk.model.executeafm.result.Warning;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Receives parts of execution result read in streaming fashion by
+ * {@link ExecuteAfmService#readResult(com.gooddata.sdk.model.executeafm.response.ExecutionResponse, ExecutionResultVisitor)}.
+ * <p>
+ * Methods are called in the order of the corresponding fields in the result JSON, the data usually come first.
+ *
+ * @see com.gooddata.sdk.model.executeafm.result.ExecutionResult
+ */
+public interface ExecutionResultVisitor {
+
+    /**
+     * Called for each row of result data. Result with single dimension is passed as one row.
+     * <p>
+     * The arrays are reused for the following rows, so they must not be retained after the method returns.
+     *
+     * @param index  index of the row within the result page
+     * @param values numeric values of the row, null values are represented by {@code NaN}
+     * @param nulls  bitmap of null values of the row
+     */
+    void visitRow(int index, double[] values, BitSet nulls);
+
+    /**
+     * Called with the result paging.
+     *
+     * @param paging result paging
+     */
+    default void visitPaging(final Paging paging) {
+    }
+
+    /**
+     * Called with the result header items.
+     *
+     * @param headerItems for each header in each dimension, there is a list of header items
+     */
+    default void visitHeaderItems(final List<List<List<ResultHeaderItem>>> headerItems) {
+    }
+
+    /**
+     * Called with the result totals.
+     *
+     * @param totals for each total in each dimension, there is a list of total's values
+     */
+    default void visitTotals(final List<List<List<String>>> totals) {
+    }
+
+    /**
+     * Called with the result totals of totals.
+     *
+     * @param totalTotals for each dimension and total combination, there is a list of totals of totals values
+     */
+    default void visitTotalTotals(final List<List<List<String>>> totalTotals) {
+    }
+
+    /**
+     * Called with the result warnings.
+     *
+     * @param warnings result warnings
+     */
+    default void visitWarnings(final List<Warning> warnings) {
+    }
+}
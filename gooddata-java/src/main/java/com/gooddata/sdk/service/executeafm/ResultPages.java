@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.gooddata.sdk.model.executeafm.ResultPage;
+import com.gooddata.sdk.model.executeafm.result.Data;
+import com.gooddata.sdk.model.executeafm.result.DataList;
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult;
+import com.gooddata.sdk.model.executeafm.result.Paging;
+import com.gooddata.sdk.model.executeafm.result.ResultHeaderItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Grid of execution result pages covering the whole result of one or two dimensions, which are stitched
+ * into a single result once all pages are set.
+ */
+class ResultPages {
+
+    private final int pageSize;
+    private final List<Integer> total;
+    private final int[] blocks;
+    private final ExecutionResult[] pages;
+
+    /**
+     * Creates grid for result described by the given first page.
+     *
+     * @param first    first page of the result
+     * @param pageSize maximum number of items per dimension in one page
+     */
+    ResultPages(final ExecutionResult first, final int pageSize) {
+        notNull(first, "first");
+        this.pageSize = pageSize;
+        this.total = notNull(notNull(first.getPaging(), "paging").getTotal(), "paging.total");
+        isTrue(total.size() == 1 || total.size() == 2, "Only results of one or two dimensions are supported");
+        this.blocks = total.stream().mapToInt(size -> Math.max(1, (size + pageSize - 1) / pageSize)).toArray();
+        this.pages = new ExecutionResult[blocks.length == 1 ? blocks[0] : blocks[0] * blocks[1]];
+        pages[0] = first;
+    }
+
+    /**
+     * @param dimensions number of result dimensions
+     * @param pageSize   maximum number of items per dimension in one page
+     * @return first page of the result
+     */
+    static ResultPage firstPage(final int dimensions, final int pageSize) {
+        return new ResultPage(nCopies(dimensions, 0), nCopies(dimensions, pageSize));
+    }
+
+    /**
+     * @return number of pages
+     */
+    int size() {
+        return pages.length;
+    }
+
+    /**
+     * @param index index of the page in the grid
+     * @return page specification of the given index
+     */
+    ResultPage getPage(final int index) {
+        final List<Integer> offsets = blocks.length == 1
+                ? Collections.singletonList(index * pageSize)
+                : asList(index / blocks[1] * pageSize, index % blocks[1] * pageSize);
+        return new ResultPage(offsets, nCopies(blocks.length, pageSize));
+    }
+
+    /**
+     * @param index  index of the page in the grid
+     * @param result page of the result
+     */
+    void set(final int index, final ExecutionResult result) {
+        pages[index] = notNull(result, "result");
+    }
+
+    /**
+     * @return single result composed of all pages
+     */
+    ExecutionResult stitch() {
+        final ExecutionResult first = pages[0];
+        final ExecutionResult result = new ExecutionResult(stitchData(),
+                new Paging(total, nCopies(total.size(), 0), total));
+        if (first.getHeaderItems() != null) {
+            final List<List<List<ResultHeaderItem>>> headerItems = new ArrayList<>();
+            for (int dimension = 0; dimension < blocks.length; dimension++) {
+                final int current = dimension;
+                headerItems.add(concat(along(dimension), page -> page.getHeaderItems().get(current)));
+            }
+            result.setHeaderItems(headerItems);
+        }
+        if (first.getTotals() != null) {
+            final List<List<List<String>>> totals = new ArrayList<>();
+            for (int dimension = 0; dimension < blocks.length; dimension++) {
+                final int current = dimension;
+                // totals of one dimension contain values along the other one
+                totals.add(blocks.length == 1
+                        ? first.getTotals().get(dimension)
+                        : concat(along(1 - dimension), page -> page.getTotals().get(current)));
+            }
+            result.setTotals(totals);
+        }
+        result.setTotalTotals(first.getTotalTotals());
+        result.setWarnings(first.getWarnings());
+        return result;
+    }
+
+    private DataList stitchData() {
+        final List<Data> data = new ArrayList<>();
+        if (blocks.length == 1) {
+            for (ExecutionResult page : pages) {
+                data.addAll(page.getData());
+            }
+            return new DataList(data);
+        }
+        for (int rowBlock = 0; rowBlock < blocks[0]; rowBlock++) {
+            final int rows = pages[rowBlock * blocks[1]].getData().size();
+            for (int row = 0; row < rows; row++) {
+                final List<Data> values = new ArrayList<>();
+                for (int columnBlock = 0; columnBlock < blocks[1]; columnBlock++) {
+                    values.addAll(pages[rowBlock * blocks[1] + columnBlock].getData().get(row).asList());
+                }
+                data.add(new DataList(values));
+            }
+        }
+        return new DataList(data);
+    }
+
+    /**
+     * @param dimension dimension index
+     * @return pages along the given dimension, starting at offset 0 in the other dimension
+     */
+    private List<ExecutionResult> along(final int dimension) {
+        final List<ExecutionResult> result = new ArrayList<>();
+        if (blocks.length == 1) {
+            Collections.addAll(result, pages);
+        } else if (dimension == 0) {
+            for (int rowBlock = 0; rowBlock < blocks[0]; rowBlock++) {
+                result.add(pages[rowBlock * blocks[1]]);
+            }
+        } else {
+            result.addAll(asList(pages).subList(0, blocks[1]));
+        }
+        return result;
+    }
+
+    /**
+     * Concatenates nested lists of the given pages, e.g. header items of each header of one dimension.
+     */
+    private static <T> List<List<T>> concat(final List<ExecutionResult> pages,
+                                            final Function<ExecutionResult, List<List<T>>> getter) {
+        final List<List<T>> first = getter.apply(pages.get(0));
+        return IntStream.range(0, first.size())
+                .mapToObj(index -> pages.stream()
+                        .flatMap(page -> getter.apply(page).get(index).stream())
+                        .collect(toList()))
+                .collect(toList());
+    }
+}
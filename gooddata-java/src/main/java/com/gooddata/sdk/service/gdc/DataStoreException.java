@@ -11,6 +11,10 @@ import com.gooddata.sdk.common.GoodDataException;
  * DataStore operation problem
  */
 public class DataStoreException extends GoodDataException {
+    public DataStoreException(String message) {
+        super(message);
+    }
+
     public DataStoreException(String message, Throwable cause) {
         super(message, cause);
     }
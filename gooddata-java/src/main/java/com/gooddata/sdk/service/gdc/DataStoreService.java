@@ -5,10 +5,15 @@
  */
 package com.gooddata.sdk.service.gdc;
 
-import com.github.sardine.Sardine;
+import com.github.sardine.DavResource;
 import com.github.sardine.impl.SardineException;
+import com.github.sardine.impl.io.ContentLengthInputStream;
 import com.gooddata.sdk.common.UriPrefixer;
+import com.gooddata.sdk.service.GoodDataSettings;
+import com.gooddata.sdk.service.PollBackoffStrategy;
 import com.gooddata.sdk.service.httpcomponents.SingleEndpointGoodDataRestProvider;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+import com.gooddata.sdk.service.util.RetryAfter;
 import org.apache.http.*;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
@@ -19,8 +24,11 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.message.BasicHeader;
 import org.apache.http.params.HttpParams;
 import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,24 +38,67 @@ import org.springframework.web.client.RestTemplate;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.lang.String.format;
+import static org.springframework.util.Assert.isTrue;
 
 /**
  * Uploads, downloads, deletes, ... at datastore
  */
 public class DataStoreService {
 
-    private final Sardine sardine;
+    /**
+     * Default size of the parts uploaded by {@link #uploadInParts(String, Path)}.
+     */
+    public static final long DEFAULT_PART_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Number of attempts to upload single part by {@link #uploadInParts(String, Path, long, boolean)}.
+     */
+    public static final int PART_UPLOAD_ATTEMPTS = 3;
+
+    /**
+     * Maximal delay in milliseconds before the next attempt to upload single part, it limits also the delay
+     * requested by {@code Retry-After} header.
+     */
+    public static final long PART_UPLOAD_MAX_DELAY = 60_000;
+
+    private static final PollBackoffStrategy DEFAULT_PART_UPLOAD_BACKOFF_STRATEGY =
+            PollBackoffStrategy.exponential(1000, 2, 30_000);
+
+    private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final GdcSardine sardine;
     private final Supplier<String> stagingUriSupplier;
     private final URI gdcUri;
     private final RestTemplate restTemplate;
 
-    private UriPrefixer prefixer;
+    private final PollBackoffStrategy partUploadBackoffStrategy;
 
+    private UriPrefixer prefixer;
 
     /**
      * Creates new DataStoreService
@@ -60,6 +111,9 @@ public class DataStoreService {
         this.gdcUri = URI.create(notNull(restProvider.getEndpoint(), "endpoint").toUri());
         this.restTemplate = notNull(restProvider.getRestTemplate(), "restTemplate");
         sardine = new GdcSardine(new CustomHttpClientBuilder(notNull(restProvider.getHttpClient(), "httpClient")));
+        final GoodDataSettings settings = notNull(restProvider.getSettings(), "settings");
+        this.partUploadBackoffStrategy = settings.getPartUploadBackoffStrategy() != null
+                ? settings.getPartUploadBackoffStrategy() : DEFAULT_PART_UPLOAD_BACKOFF_STRATEGY;
     }
 
     private UriPrefixer getPrefixer() {
@@ -93,9 +147,41 @@ public class DataStoreService {
         upload(getUri(path), stream);
     }
 
+    /**
+     * Uploads given file to given datastore path. The file is sent with known content length directly from
+     * its channel, and unlike the stream upload the request can be repeated (i.e. after authentication renewal).
+     *
+     * @param path path where to upload to
+     * @param file file to upload
+     * @throws DataStoreException in case upload failed
+     */
+    public void upload(String path, Path file) {
+        notEmpty(path, "path");
+        notNull(file, "file");
+        final URI url = getUri(path);
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to read " + file, e);
+        }
+        try {
+            final FileChannelEntity entity = new FileChannelEntity(channel, 0, channel.size());
+            upload(url, () -> sardine.put(url.toString(), entity, Collections.emptyList()));
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to read " + file, e);
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
     private void upload(URI url, InputStream stream) {
+        upload(url, () -> sardine.put(url.toString(), stream));
+    }
+
+    private void upload(URI url, Put put) {
         try {
-            sardine.put(url.toString(), stream);
+            put.execute();
         } catch (SardineException e) {
             if (HttpStatus.INTERNAL_SERVER_ERROR.value() == e.getStatusCode()) {
                 // this error may occur when user issues request to WebDAV before SST and TT were obtained
@@ -122,6 +208,167 @@ public class DataStoreService {
         }
     }
 
+    /**
+     * Uploads given file to given datastore path in parts of {@link #DEFAULT_PART_SIZE default size}.
+     * The parts are appended by non-standard partial PUT, see {@link #uploadInParts(String, Path, long, boolean)}.
+     *
+     * @param path path where to upload to
+     * @param file file to upload
+     * @throws DataStoreException in case upload failed
+     * @see #uploadInParts(String, Path, long, boolean)
+     */
+    public void uploadInParts(String path, Path file) {
+        uploadInParts(path, file, DEFAULT_PART_SIZE, false);
+    }
+
+    /**
+     * Uploads given file to given datastore path in parts, so a failure doesn't restart the whole transfer.
+     * The first part is uploaded by plain PUT replacing the existing file, the following ones are appended
+     * by PUT with {@code Content-Range} header. Each part is read directly from the file channel and its upload
+     * is attempted up to {@link #PART_UPLOAD_ATTEMPTS} times, waiting as requested by {@code Retry-After} header
+     * or by {@link GoodDataSettings#setPartUploadBackoffStrategy(PollBackoffStrategy) backoff strategy} between
+     * the attempts.
+     * <p>
+     * <strong>Partial PUT is not standard HTTP:</strong> RFC 7231 section 4.3.4 requires servers to reject PUT
+     * with {@code Content-Range} header, so this method relies on the datastore supporting it as an extension.
+     * The length of the file is checked after the first appended part. When the datastore rejects the
+     * {@code Content-Range} header or doesn't append the part, the whole file is uploaded by single PUT instead.
+     * <p>
+     * When resuming, the upload continues after the parts already present in the datastore, so a failed upload
+     * can be finished by calling this method again with the same file and part size.
+     *
+     * @param path     path where to upload to
+     * @param file     file to upload
+     * @param partSize size of single part in bytes
+     * @param resume   true to continue the previously failed upload of the same file
+     * @throws DataStoreException in case upload failed
+     */
+    public void uploadInParts(String path, Path file, long partSize, boolean resume) {
+        notEmpty(path, "path");
+        notNull(file, "file");
+        isTrue(partSize > 0, "partSize must be greater than zero");
+        final URI uri = getUri(path);
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to read " + file, e);
+        }
+        try {
+            final long size = channel.size();
+            if (size == 0) {
+                uploadPart(uri, channel, 0, 0, 0);
+                return;
+            }
+            long offset = resume ? getUploadedLength(uri, size, partSize) : 0;
+            boolean appendVerified = false;
+            while (offset < size) {
+                final long length = Math.min(partSize, size - offset);
+                final boolean uploaded = uploadPart(uri, channel, offset, length, size);
+                if (offset > 0 && !appendVerified) {
+                    if (!uploaded || !Long.valueOf(offset + length).equals(getContentLength(uri))) {
+                        logger.warn("Datastore doesn't append parts of {}, uploading the whole file", uri);
+                        uploadPart(uri, channel, 0, size, size);
+                        return;
+                    }
+                    appendVerified = true;
+                }
+                offset += length;
+            }
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to read " + file, e);
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // the file was only read
+        }
+    }
+
+    private long getUploadedLength(final URI uri, final long size, final long partSize) {
+        final Long uploaded = getContentLength(uri);
+        if (uploaded == null) {
+            return 0;
+        }
+        // only complete parts are confirmed, the rest of the file is uploaded again
+        return uploaded > size ? 0 : Math.min(uploaded / partSize * partSize, size);
+    }
+
+    /**
+     * @return length of the file at given uri or null when there is no such file or its length is unknown
+     */
+    private Long getContentLength(final URI uri) {
+        final List<DavResource> resources;
+        try {
+            resources = sardine.list(uri.toString(), 0);
+        } catch (SardineException e) {
+            if (HttpStatus.NOT_FOUND.value() == e.getStatusCode()) {
+                return null;
+            }
+            throw new DataStoreException("Unable to get uploaded length of " + uri + " got status " + e.getStatusCode(), e);
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to get uploaded length of " + uri, e);
+        }
+        return resources.isEmpty() ? null : resources.get(0).getContentLength();
+    }
+
+    /**
+     * @return true when the part was uploaded, false when the datastore rejected the {@code Content-Range} header
+     */
+    private boolean uploadPart(final URI uri, final FileChannel channel, final long offset, final long length,
+                               final long size) {
+        final List<Header> headers = offset == 0 ? Collections.emptyList() : Collections.singletonList(
+                new BasicHeader(HttpHeaders.CONTENT_RANGE, format("bytes %d-%d/%d", offset, offset + length - 1, size)));
+        for (int attempt = 1; ; attempt++) {
+            long delay = partUploadBackoffStrategy.getDelay(attempt);
+            try {
+                final HttpResponse response = sardine.put(uri.toString(), new FileChannelEntity(channel, offset, length),
+                        headers, r -> r);
+                final int status = response.getStatusLine().getStatusCode();
+                if (status >= HttpStatus.OK.value() && status < HttpStatus.MULTIPLE_CHOICES.value()) {
+                    return true;
+                }
+                if (offset > 0 && (status == HttpStatus.BAD_REQUEST.value()
+                        || status == HttpStatus.NOT_IMPLEMENTED.value())) {
+                    return false;
+                }
+                if (attempt >= PART_UPLOAD_ATTEMPTS || !isRetryable(status)) {
+                    throw new DataStoreException(format("Unable to upload part at %d of %s got status %d, "
+                            + "upload can be resumed", offset, uri, status));
+                }
+                final Header retryAfter = response.getFirstHeader(RetryAfter.HEADER);
+                delay = RetryAfter.getDelay(retryAfter == null ? null : retryAfter.getValue(), Clock.systemUTC(),
+                        PART_UPLOAD_MAX_DELAY).orElse(delay);
+                logger.warn("Upload of part at {} of {} failed with status {}, retrying", offset, uri, status);
+            } catch (IOException e) {
+                if (attempt >= PART_UPLOAD_ATTEMPTS) {
+                    throw new DataStoreException(format("Unable to upload part at %d of %s, upload can be resumed",
+                            offset, uri), e);
+                }
+                logger.warn("Upload of part at {} of {} failed, retrying", offset, uri, e);
+            }
+            try {
+                Thread.sleep(Math.min(delay, PART_UPLOAD_MAX_DELAY));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataStoreException(format("Interrupted while uploading part at %d of %s, "
+                        + "upload can be resumed", offset, uri), e);
+            }
+        }
+    }
+
+    private static boolean isRetryable(final int statusCode) {
+        return statusCode == HttpStatus.REQUEST_TIMEOUT.value()
+                || statusCode == HttpStatus.TOO_MANY_REQUESTS.value()
+                || (statusCode >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                        && statusCode != HttpStatus.NOT_IMPLEMENTED.value());
+    }
+
     private String createUnAuthRequestWarningMessage(final URI url) {
         return "Got 500 while uploading to " + url + "."
                 + "\nThis can be known limitation, see https://github.com/gooddata/gooddata-java/wiki/Known-limitations";
@@ -143,6 +390,192 @@ public class DataStoreService {
         }
     }
 
+    /**
+     * Downloads given path into given file using up to given number of concurrent requests. The size of the file
+     * is obtained by HEAD request and its byte ranges are fetched in parallel by HTTP Range requests and written
+     * to their positions in the target file. When the datastore doesn't support ranges (the HEAD request fails,
+     * doesn't announce byte ranges or any range request isn't responded by partial content), the file is
+     * downloaded sequentially. The target file is deleted when the download fails.
+     *
+     * @param path        path from where to download
+     * @param target      file to download to, overwritten when exists
+     * @param parallelism maximal number of concurrent requests
+     * @throws DataStoreException in case download failed
+     */
+    public void download(String path, Path target, int parallelism) {
+        notEmpty(path, "path");
+        notNull(target, "target");
+        isTrue(parallelism > 0, "parallelism must be greater than zero");
+        final URI uri = getUri(path);
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to write " + target, e);
+        }
+        boolean downloaded = false;
+        try {
+            final long size = parallelism == 1 ? -1 : getRangeDownloadSize(uri);
+            if (size < 0) {
+                downloadRange(uri, channel, 0, -1);
+            } else {
+                downloadRanges(uri, channel, size, parallelism);
+            }
+            channel.close();
+            downloaded = true;
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to write " + target, e);
+        } finally {
+            closeQuietly(channel);
+            if (!downloaded) {
+                deleteQuietly(target);
+            }
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Unable to delete partially downloaded {}", file, e);
+        }
+    }
+
+    /**
+     * @return size of the file at given uri or -1 when the file can't be downloaded by ranges
+     */
+    private long getRangeDownloadSize(final URI uri) {
+        final HttpResponse response;
+        try {
+            response = sardine.head(uri.toString());
+        } catch (IOException e) {
+            logger.debug("Unable to get size of {}, downloading sequentially", uri, e);
+            return -1;
+        }
+        final Header acceptRanges = response.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+        final Header contentLength = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+        if (acceptRanges == null || !"bytes".equalsIgnoreCase(acceptRanges.getValue()) || contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.getValue());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void downloadRanges(final URI uri, final FileChannel channel, final long size, final int parallelism) {
+        final long rangeSize = Math.max(1, (size + parallelism - 1) / parallelism);
+        final int ranges = (int) ((size + rangeSize - 1) / rangeSize);
+        if (ranges <= 1) {
+            downloadRange(uri, channel, 0, -1);
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(ranges,
+                new DaemonThreadFactory("gooddata-datastore-download"));
+        try {
+            final CompletionService<Boolean> downloads = new ExecutorCompletionService<>(executor);
+            for (long offset = 0; offset < size; offset += rangeSize) {
+                final long start = offset;
+                final long length = Math.min(rangeSize, size - offset);
+                downloads.submit(() -> downloadRange(uri, channel, start, length));
+            }
+            boolean partial = true;
+            for (int i = 0; i < ranges; i++) {
+                partial &= downloads.take().get();
+            }
+            if (!partial) {
+                logger.warn("Datastore doesn't respond to range requests of {}, downloading sequentially", uri);
+                channel.truncate(0);
+                downloadRange(uri, channel, 0, -1);
+            }
+        } catch (IOException e) {
+            throw new DataStoreException("Unable to download from " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreException("Interrupted while downloading from " + uri, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DataStoreException("Unable to download from " + uri, e.getCause());
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+    }
+
+    /**
+     * Waits for the range downloads to stop, so none of them writes to the channel after it's closed. The
+     * downloads blocked by reading the response are bounded by {@link GoodDataSettings#getSocketTimeout()}.
+     */
+    private static void awaitTermination(final ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Downloads the range of given length (or whole file when negative) starting at offset and writes it
+     * to the same position of the channel.
+     *
+     * @return false when the range request wasn't responded by partial content and nothing was written
+     */
+    private boolean downloadRange(final URI uri, final FileChannel channel, final long offset, final long length) {
+        final ContentLengthInputStream stream;
+        try {
+            stream = length < 0 ? sardine.get(uri.toString()) : sardine.getRange(uri.toString(), offset, length);
+        } catch (IOException e) {
+            throw new DataStoreException(format("Unable to download range at %d from %s", offset, uri), e);
+        }
+        if (stream == null) {
+            return false;
+        }
+        try {
+            if (length >= 0 && stream.getLength() != null && stream.getLength() != length) {
+                throw new IOException(format("Got %d bytes instead of %d", stream.getLength(), length));
+            }
+            final ReadableByteChannel source = Channels.newChannel(stream);
+            final ByteBuffer buffer = ByteBuffer.allocate(DOWNLOAD_BUFFER_SIZE);
+            long position = offset;
+            while (source.read(buffer) >= 0) {
+                ((Buffer) buffer).flip();
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                ((Buffer) buffer).clear();
+            }
+            if (length >= 0 && position - offset != length) {
+                throw new IOException(format("Got %d bytes instead of %d", position - offset, length));
+            }
+            return true;
+        } catch (IOException e) {
+            throw new DataStoreException(format("Unable to download range at %d from %s", offset, uri), e);
+        } finally {
+            closeQuietly(stream);
+        }
+    }
+
+    private static void closeQuietly(final InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // the data was already read
+        }
+    }
+
     /**
      * Delete given path from datastore.
      * @param path path to delete
@@ -163,6 +596,11 @@ public class DataStoreService {
         }
     }
 
+    @FunctionalInterface
+    private interface Put {
+        void execute() throws IOException;
+    }
+
     /**
      * This class is needed to provide Sardine with instance of {@link CloseableHttpClient}, because
      * used {@link com.gooddata.http.client.GoodDataHttpClient} is not Closeable at all (on purpose).
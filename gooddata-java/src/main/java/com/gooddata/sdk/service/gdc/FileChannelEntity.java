@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.gdc;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Repeatable entity sending the given range of the file channel, so only the range is read from the file
+ * on each attempt to send it. The channel is not closed.
+ */
+class FileChannelEntity extends AbstractHttpEntity {
+
+    private final FileChannel channel;
+    private final long offset;
+    private final long length;
+
+    FileChannelEntity(final FileChannel channel, final long offset, final long length) {
+        this.channel = notNull(channel, "channel");
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new InputStream() {
+            private long position = offset;
+
+            @Override
+            public int read() throws IOException {
+                final byte[] single = new byte[1];
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final long remaining = offset + length - position;
+                if (remaining <= 0) {
+                    return -1;
+                }
+                final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            }
+        };
+    }
+
+    @Override
+    public void writeTo(final OutputStream output) throws IOException {
+        notNull(output, "output");
+        final WritableByteChannel target = Channels.newChannel(output);
+        final long end = offset + length;
+        long position = offset;
+        while (position < end) {
+            final long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0 && position >= channel.size()) {
+                throw new IOException("File is shorter than expected " + end + " bytes");
+            }
+            position += transferred;
+        }
+        output.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
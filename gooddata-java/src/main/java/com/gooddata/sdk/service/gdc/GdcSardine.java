@@ -8,12 +8,23 @@ package com.gooddata.sdk.service.gdc;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 
 import com.github.sardine.impl.SardineImpl;
+import com.github.sardine.impl.handler.ValidatingResponseHandler;
+import com.github.sardine.impl.handler.VoidResponseHandler;
+import com.github.sardine.impl.io.ContentLengthInputStream;
+import com.github.sardine.impl.io.HttpMethodReleaseInputStream;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.HttpClientBuilder;
 
 import java.io.IOException;
 
+import static java.lang.String.format;
+
 /**
  * This class extends SardineImpl, connections were not correctly closed by parent
  */
@@ -35,4 +46,46 @@ class GdcSardine extends SardineImpl {
             request.releaseConnection();
         }
     }
+
+    /**
+     * Issues HEAD request to given url
+     * @param url url to request
+     * @return response containing the headers only
+     * @throws IOException in case request failed or the response status is not successful
+     */
+    HttpResponse head(String url) throws IOException {
+        return execute(new HttpHead(url), new ValidatingResponseHandler<HttpResponse>() {
+            @Override
+            public HttpResponse handleResponse(HttpResponse response) throws IOException {
+                validateResponse(response);
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Issues GET request of given byte range of the file at given url
+     * @param url url to request
+     * @param offset position of the first byte of the range
+     * @param length length of the range
+     * @return stream of the range or null when the server doesn't respond by partial content
+     * @throws IOException in case request failed or the response status is not successful
+     */
+    ContentLengthInputStream getRange(String url, long offset, long length) throws IOException {
+        final HttpGet get = new HttpGet(url);
+        get.setHeader(HttpHeaders.RANGE, format("bytes=%d-%d", offset, offset + length - 1));
+        final HttpResponse response = execute(get);
+        try {
+            new VoidResponseHandler().handleResponse(response);
+            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT) {
+                get.abort();
+                return null;
+            }
+            return new ContentLengthInputStream(new HttpMethodReleaseInputStream(response),
+                    response.getEntity().getContentLength());
+        } catch (IOException e) {
+            get.abort();
+            throw e;
+        }
+    }
 }
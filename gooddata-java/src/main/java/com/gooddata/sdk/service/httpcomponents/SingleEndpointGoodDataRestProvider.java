@@ -8,6 +8,7 @@ package com.gooddata.sdk.service.httpcomponents;
 import com.gooddata.sdk.common.UriPrefixingClientHttpRequestFactory;
 import com.gooddata.sdk.service.*;
 import com.gooddata.sdk.service.gdc.DataStoreService;
+import com.gooddata.sdk.service.ratelimit.RateLimitingClientHttpRequestFactory;
 import com.gooddata.sdk.service.retry.RetryableRestTemplate;
 import com.gooddata.sdk.service.util.ResponseErrorHandler;
 import org.apache.http.client.HttpClient;
@@ -18,6 +19,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
@@ -25,7 +27,6 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
-import static java.util.Arrays.asList;
 
 /**
  * {@link GoodDataRestProvider} capable to be used with single API endpoint using the
@@ -35,7 +36,10 @@ import static java.util.Arrays.asList;
  *     <li>Configures {@link ResponseErrorHandler}</li>
  *     <li>Configures connection according to {@link GoodDataSettings}</li>
  *     <li>Set default headers from {@link GoodDataSettings} including User-Agent</li>
+ *     <li>Logs deprecation warnings of used resources</li>
+ *     <li>Streams request bodies without buffering them in memory</li>
  *     <li>Configures retries in case it's requested</li>
+ *     <li>Limits rate and concurrency of the requests in case it's requested</li>
  * </ul>
  *
  * To provide complete implementation, this class must be extended and descendants should implement own logic by providing
@@ -113,10 +117,18 @@ public abstract class SingleEndpointGoodDataRestProvider implements GoodDataRest
         notNull(settings, "settings");
         this.httpClient = notNull(httpClient, "httpClient");
 
-        final UriPrefixingClientHttpRequestFactory factory = new UriPrefixingClientHttpRequestFactory(
-                new HttpComponentsClientHttpRequestFactory(httpClient),
+        // preset headers and deprecation warnings are handled by the request factory rather than by request
+        // interceptors, so request bodies are streamed instead of buffered in memory
+        final HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        final UriPrefixingClientHttpRequestFactory prefixingFactory = new UriPrefixingClientHttpRequestFactory(
+                requestFactory,
                 endpoint.toUri()
         );
+        final ClientHttpRequestFactory limitingFactory = settings.getRateLimitSettings() == null ? prefixingFactory
+                : new RateLimitingClientHttpRequestFactory(prefixingFactory, settings.getRateLimitSettings());
+        final ClientHttpRequestFactory factory = new HeaderSettingClientHttpRequestFactory(limitingFactory,
+                settings.getPresetHeaders());
 
         final RestTemplate restTemplate;
         if (settings.getRetrySettings() == null) {
@@ -124,10 +136,6 @@ public abstract class SingleEndpointGoodDataRestProvider implements GoodDataRest
         } else {
             restTemplate = RetryableRestTemplate.create(settings.getRetrySettings(), factory);
         }
-        restTemplate.setInterceptors(asList(
-                new HeaderSettingRequestInterceptor(settings.getPresetHeaders()),
-                new DeprecationWarningRequestInterceptor()));
-
         restTemplate.setErrorHandler(new ResponseErrorHandler(restTemplate.getMessageConverters()));
 
         return restTemplate;
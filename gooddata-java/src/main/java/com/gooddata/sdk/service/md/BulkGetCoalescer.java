@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.md.Obj;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static com.gooddata.sdk.service.md.MetadataService.OBJ_TEMPLATE;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Coalesces concurrent lookups of single metadata objects into {@link MetadataService#getObjsByUris bulk get}
+ * requests. Lookups of objects of the same project are collected for the given time window (or until the maximum
+ * batch size is reached) and resolved by single request, so resolving many objects from many threads (or using
+ * {@link #getObjByUriAsync(String, Class)}) costs a fraction of the round trips.
+ * <p>
+ * Objects of the {@link com.gooddata.sdk.service.GoodDataSettings#setMetadataCache(MetadataCache) metadata cache}
+ * are served without request and the retrieved objects are cached. Each lookup gets its own object instance,
+ * even when several lookups of the same object are resolved by single request.
+ * <p>
+ * The bulk get requests are issued by daemon threads of the coalescer, call {@link #shutdown()} when
+ * the coalescer is not needed anymore.
+ */
+public class BulkGetCoalescer {
+
+    /**
+     * Default time window in milliseconds for which the lookups are collected.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 2;
+
+    /**
+     * Default maximum number of objects retrieved by single bulk get request.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private static final int POOL_SIZE = 4;
+
+    private final MetadataService service;
+    private final long window;
+    private final int maxBatchSize;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    /**
+     * Creates new coalescer with {@link #DEFAULT_WINDOW_MILLIS default window}
+     * and {@link #DEFAULT_MAX_BATCH_SIZE default maximum batch size}.
+     *
+     * @param service metadata service used to retrieve the objects
+     */
+    public BulkGetCoalescer(final MetadataService service) {
+        this(service, DEFAULT_WINDOW_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates new coalescer.
+     *
+     * @param service      metadata service used to retrieve the objects
+     * @param window       time window for which the lookups are collected
+     * @param unit         time window unit
+     * @param maxBatchSize maximum number of objects retrieved by single bulk get request
+     */
+    public BulkGetCoalescer(final MetadataService service, final long window, final TimeUnit unit,
+                            final int maxBatchSize) {
+        this.service = notNull(service, "service");
+        isTrue(window >= 0, "window must not be negative");
+        isTrue(maxBatchSize > 0, "maxBatchSize must be greater than zero");
+        this.window = notNull(unit, "unit").toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = new ScheduledThreadPoolExecutor(POOL_SIZE, new DaemonThreadFactory("gooddata-bulk-get"));
+    }
+
+    /**
+     * Get metadata object by URI, waiting for the bulk get request retrieving it.
+     *
+     * @param uri URI in format <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>
+     * @param cls class of the resulting object
+     * @param <T> type of the object to be returned
+     * @return the metadata object
+     * @throws ObjNotFoundException if metadata object not found
+     * @throws com.gooddata.sdk.common.GoodDataException if no response from API or client-side HTTP error
+     * @see MetadataService#getObjByUri(String, Class)
+     */
+    public <T extends Obj> T getObjByUri(final String uri, final Class<T> cls) {
+        try {
+            return getObjByUriAsync(uri, cls).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to get " + cls.getSimpleName().toLowerCase() + " " + uri, e.getCause());
+        }
+    }
+
+    /**
+     * Get metadata object by URI without blocking the calling thread. URIs not matching
+     * {@link MetadataService#OBJ_TEMPLATE} are retrieved one by one.
+     *
+     * @param uri URI in format <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>
+     * @param cls class of the resulting object
+     * @param <T> type of the object to be returned
+     * @return future completed by the metadata object or by {@link ObjNotFoundException} when not found
+     */
+    public <T extends Obj> CompletableFuture<T> getObjByUriAsync(final String uri, final Class<T> cls) {
+        notNull(uri, "uri");
+        notNull(cls, "cls");
+        if (!OBJ_TEMPLATE.matches(uri)) {
+            return CompletableFuture.supplyAsync(() -> service.getObjByUri(uri, cls), executor);
+        }
+        final Lookup<T> lookup = new Lookup<>(uri, cls);
+        final T cached;
+        try {
+            cached = service.getCachedObj(uri, cls);
+        } catch (RuntimeException e) {
+            lookup.future.completeExceptionally(e);
+            return lookup.future;
+        }
+        if (cached != null) {
+            lookup.future.complete(cached);
+            return lookup.future;
+        }
+        final String projectId = OBJ_TEMPLATE.match(uri).get("projectId");
+
+        final Batch batch;
+        final boolean full;
+        synchronized (batches) {
+            final Batch pending = batches.get(projectId);
+            if (pending != null) {
+                batch = pending;
+            } else {
+                batch = new Batch(projectId);
+                batches.put(projectId, batch);
+                executor.schedule(() -> flush(batch), window, TimeUnit.NANOSECONDS);
+            }
+            batch.add(lookup);
+            full = batch.size() >= maxBatchSize;
+            if (full) {
+                batches.remove(projectId);
+            }
+        }
+        if (full) {
+            executor.execute(() -> flush(batch));
+        }
+        return lookup.future;
+    }
+
+    /**
+     * Stops the coalescer, lookups waiting for the bulk get request are completed exceptionally.
+     */
+    public void shutdown() {
+        final List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        executor.shutdownNow();
+        final GoodDataException e = new GoodDataException("Bulk get coalescer was shut down");
+        pending.forEach(batch -> batch.fail(e));
+    }
+
+    private void flush(final Batch batch) {
+        synchronized (batches) {
+            if (batches.get(batch.projectId) == batch) {
+                batches.remove(batch.projectId);
+            }
+            if (batch.flushed) {
+                return;
+            }
+            batch.flushed = true;
+        }
+        final Collection<Obj> objs;
+        try {
+            objs = service.bulkGet(batch.projectId, batch.lookups.keySet());
+        } catch (RuntimeException e) {
+            batch.fail(e);
+            return;
+        }
+        final Map<String, Obj> byUri = new HashMap<>();
+        objs.forEach(obj -> byUri.put(obj.getUri(), obj));
+        batch.lookups.forEach((uri, lookups) -> complete(lookups, byUri.get(uri)));
+    }
+
+    /**
+     * Completes the lookups of single object, the first one by the retrieved object, the others by its copies.
+     */
+    private void complete(final List<Lookup<?>> lookups, final Obj obj) {
+        final String body;
+        try {
+            body = obj == null ? null : service.cacheObj(obj);
+        } catch (RuntimeException e) {
+            lookups.forEach(lookup -> lookup.future.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < lookups.size(); i++) {
+            final Lookup<?> lookup = lookups.get(i);
+            try {
+                final Obj result = i == 0 || obj == null ? obj
+                        : service.readCachedObj(body, obj.getUri(), obj.getClass());
+                lookup.complete(result);
+            } catch (RuntimeException e) {
+                lookup.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class Batch {
+        private final String projectId;
+        private final Map<String, List<Lookup<?>>> lookups = new LinkedHashMap<>();
+        private boolean flushed;
+
+        private Batch(final String projectId) {
+            this.projectId = projectId;
+        }
+
+        private void add(final Lookup<?> lookup) {
+            lookups.computeIfAbsent(lookup.uri, uri -> new ArrayList<>()).add(lookup);
+        }
+
+        private int size() {
+            return lookups.size();
+        }
+
+        private void fail(final RuntimeException e) {
+            lookups.values().forEach(list -> list.forEach(lookup -> lookup.future.completeExceptionally(e)));
+        }
+    }
+
+    private static class Lookup<T extends Obj> {
+        private final String uri;
+        private final Class<T> cls;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Lookup(final String uri, final Class<T> cls) {
+            this.uri = uri;
+            this.cls = cls;
+        }
+
+        private void complete(final Obj obj) {
+            if (cls.isInstance(obj)) {
+                future.complete(cls.cast(obj));
+            } else {
+                future.completeExceptionally(new ObjNotFoundException(uri, cls, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Serialized metadata object kept by {@link MetadataCache} together with its validators.
+ */
+public final class CachedObj {
+
+    private final String body;
+    private final String eTag;
+    private final String lastModified;
+    private final long expiresAt;
+
+    /**
+     * @param body         serialized object
+     * @param eTag         entity tag of the object, can be null
+     * @param lastModified last modification date of the object, can be null
+     * @param expiresAt    time in milliseconds since epoch after which the object must be revalidated
+     */
+    public CachedObj(final String body, final String eTag, final String lastModified, final long expiresAt) {
+        this.body = notNull(body, "body");
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return true when the object must be revalidated before use
+     */
+    public boolean isExpired() {
+        return expiresAt <= System.currentTimeMillis();
+    }
+
+    /**
+     * @return true when the object can be revalidated by conditional request
+     */
+    public boolean isRevalidable() {
+        return eTag != null || lastModified != null;
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this, "body");
+    }
+}
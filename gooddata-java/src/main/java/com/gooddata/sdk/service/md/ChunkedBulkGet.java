@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.md.Obj;
+import com.gooddata.sdk.service.util.DaemonThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates over the results of bulk get requests, each retrieving one chunk of the URIs. Up to the given number
+ * of requests is running concurrently ahead of the consumer, the results are returned in order of the chunks.
+ */
+class ChunkedBulkGet implements Iterator<Collection<Obj>>, AutoCloseable {
+
+    private final MetadataService service;
+    private final String projectId;
+    private final List<List<String>> chunks = new ArrayList<>();
+    private final int parallelism;
+    private final Queue<Future<Collection<Obj>>> pending = new ArrayDeque<>();
+
+    private ThreadPoolExecutor executor;
+    private int nextChunk;
+
+    ChunkedBulkGet(final MetadataService service, final String projectId, final Collection<String> uris,
+                   final int batchSize, final int parallelism) {
+        this.service = service;
+        this.projectId = projectId;
+        this.parallelism = parallelism;
+        final List<String> list = new ArrayList<>(uris);
+        for (int from = 0; from < list.size(); from += batchSize) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + batchSize)));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextChunk < chunks.size() || !pending.isEmpty();
+    }
+
+    @Override
+    public Collection<Obj> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        dispatch();
+        final Future<Collection<Obj>> result = pending.remove();
+        dispatch();
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new GoodDataException("interrupted");
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to get objects", e.getCause());
+        } finally {
+            if (!hasNext()) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Stops the running requests, the remaining chunks are not requested anymore.
+     */
+    @Override
+    public void close() {
+        nextChunk = chunks.size();
+        pending.forEach(future -> future.cancel(true));
+        pending.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void dispatch() {
+        while (pending.size() < parallelism && nextChunk < chunks.size()) {
+            final List<String> chunk = chunks.get(nextChunk++);
+            pending.add(getExecutor().submit(() -> service.bulkGet(projectId, chunk)));
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new DaemonThreadFactory("gooddata-bulk-get"));
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+}
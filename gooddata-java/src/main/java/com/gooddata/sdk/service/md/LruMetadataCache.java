@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * In-memory {@link MetadataCache} of bounded size evicting the least recently used objects.
+ */
+class LruMetadataCache implements MetadataCache {
+
+    private final long ttl;
+    private final Map<String, CachedObj> objects;
+
+    LruMetadataCache(final int maxSize, final long ttl, final TimeUnit unit) {
+        isTrue(maxSize > 0, "maxSize must be greater than zero");
+        isTrue(ttl >= 0, "ttl must not be negative");
+        this.ttl = notNull(unit, "unit").toMillis(ttl);
+        this.objects = new LinkedHashMap<String, CachedObj>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedObj> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized CachedObj get(final String uri) {
+        return objects.get(notNull(uri, "uri"));
+    }
+
+    @Override
+    public synchronized void put(final String uri, final String body, final String eTag, final String lastModified) {
+        objects.put(notNull(uri, "uri"), new CachedObj(body, eTag, lastModified, System.currentTimeMillis() + ttl));
+    }
+
+    @Override
+    public synchronized void remove(final String uri) {
+        objects.remove(notNull(uri, "uri"));
+    }
+
+    @Override
+    public synchronized void clear() {
+        objects.clear();
+    }
+}
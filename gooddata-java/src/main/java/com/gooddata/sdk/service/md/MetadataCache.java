@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of metadata objects used by {@link MetadataService#getObjByUri(String, Class)}, configured by
+ * {@link com.gooddata.sdk.service.GoodDataSettings#setMetadataCache(MetadataCache)}.
+ * <p>
+ * Objects are cached serialized by their URI, so the same entry serves any requested class and each call returns
+ * a new object instance. Expired entries are revalidated by conditional request when the server provided
+ * {@code ETag} or {@code Last-Modified} header. Entries are invalidated when the object is updated or removed
+ * by the {@link MetadataService}.
+ * <p>
+ * Implementations must be thread safe.
+ */
+public interface MetadataCache {
+
+    /**
+     * Get cached object.
+     *
+     * @param uri object URI
+     * @return cached object, possibly {@link CachedObj#isExpired() expired}, or null when not cached
+     */
+    CachedObj get(String uri);
+
+    /**
+     * Cache object, replacing any previously cached one.
+     *
+     * @param uri          object URI
+     * @param body         serialized object
+     * @param eTag         entity tag of the object, can be null
+     * @param lastModified last modification date of the object, can be null
+     */
+    void put(String uri, String body, String eTag, String lastModified);
+
+    /**
+     * Invalidate cached object.
+     *
+     * @param uri object URI
+     */
+    void remove(String uri);
+
+    /**
+     * Invalidate all cached objects.
+     */
+    void clear();
+
+    /**
+     * Creates in-memory cache evicting the least recently used objects.
+     *
+     * @param maxSize maximum number of cached objects
+     * @param ttl     time for which the object is used without revalidation
+     * @param unit    time to live unit
+     * @return new cache
+     */
+    static MetadataCache lru(final int maxSize, final long ttl, final TimeUnit unit) {
+        return new LruMetadataCache(maxSize, ttl, unit);
+    }
+}
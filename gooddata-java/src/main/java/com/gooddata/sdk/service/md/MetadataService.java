@@ -12,19 +12,28 @@ import com.gooddata.sdk.model.md.report.ReportDefinition;
 import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.AbstractService;
 import com.gooddata.sdk.service.GoodDataSettings;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.gooddata.sdk.common.util.Validate.noNullElements;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static com.gooddata.sdk.common.util.Validate.notNullState;
 import static java.util.Arrays.asList;
+import static org.springframework.util.Assert.isTrue;
 
 /**
  * Query, create and update project metadata - attributes, facts, metrics, reports,...
@@ -33,6 +42,15 @@ public class MetadataService extends AbstractService {
 
     public static final UriTemplate OBJ_TEMPLATE = new UriTemplate(Obj.OBJ_URI);
     private static final Set<String> IRREGULAR_PLURAL_WORD_SUFFIXES = new HashSet<>(asList("s", "ch", "sh", "x", "o"));
+    /**
+     * Maximum number of URIs retrieved by single request of {@link #getObjsByUris(Project, Collection)}.
+     */
+    public static final int DEFAULT_BULK_GET_BATCH_SIZE = 500;
+
+    /**
+     * Maximum number of concurrent requests of {@link #getObjsByUris(Project, Collection)}.
+     */
+    public static final int DEFAULT_BULK_GET_PARALLELISM = 4;
 
     public MetadataService(final RestTemplate restTemplate, final GoodDataSettings settings) {
         super(restTemplate, settings);
@@ -84,6 +102,10 @@ public class MetadataService extends AbstractService {
     public <T extends Obj> T getObjByUri(String uri, Class<T> cls) {
         notNull(uri, "uri");
         notNull(cls, "cls");
+        final MetadataCache cache = getSettings().getMetadataCache();
+        if (cache != null) {
+            return getCachedObjByUri(cache, uri, cls);
+        }
         try {
             final T result = restTemplate.getForObject(uri, cls);
 
@@ -103,8 +125,96 @@ public class MetadataService extends AbstractService {
         }
     }
 
+    private <T extends Obj> T getCachedObjByUri(final MetadataCache cache, final String uri, final Class<T> cls) {
+        final CachedObj cached = cache.get(uri);
+        if (cached != null && !cached.isExpired()) {
+            return readCachedObj(cached.getBody(), uri, cls);
+        }
+
+        final HttpHeaders headers = new HttpHeaders();
+        if (cached != null && cached.getETag() != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+        try {
+            final ResponseEntity<byte[]> response = restTemplate.exchange(uri, HttpMethod.GET,
+                    new HttpEntity<>(headers), byte[].class);
+            final String eTag = response.getHeaders().getETag();
+            final String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null && cached.isRevalidable()) {
+                cache.put(uri, cached.getBody(),
+                        eTag != null ? eTag : cached.getETag(),
+                        lastModified != null ? lastModified : cached.getLastModified());
+                return readCachedObj(cached.getBody(), uri, cls);
+            }
+
+            final byte[] content = response.getBody();
+            if (content == null) {
+                throw new GoodDataException("Received empty response from API call.");
+            }
+            final String body = new String(content, StandardCharsets.UTF_8);
+            final T result = readCachedObj(body, uri, cls);
+            cache.put(uri, body, eTag, lastModified);
+            return result;
+        } catch (GoodDataRestException e) {
+            cache.remove(uri);
+            if (HttpStatus.NOT_FOUND.value() == e.getStatusCode()) {
+                throw new ObjNotFoundException(uri, cls, e);
+            } else {
+                throw e;
+            }
+        } catch (RestClientException e) {
+            throw new GoodDataException("Unable to get " + cls.getSimpleName().toLowerCase() + " " + uri, e);
+        }
+    }
+
+    /**
+     * @return object read from the cache when cached and not expired, null otherwise or when no cache is set
+     */
+    <T extends Obj> T getCachedObj(final String uri, final Class<T> cls) {
+        final MetadataCache cache = getSettings().getMetadataCache();
+        if (cache == null) {
+            return null;
+        }
+        final CachedObj cached = cache.get(uri);
+        return cached == null || cached.isExpired() ? null : readCachedObj(cached.getBody(), uri, cls);
+    }
+
+    /**
+     * Serializes given object and caches it when the cache is set.
+     *
+     * @return serialized object
+     */
+    String cacheObj(final Obj obj) {
+        final String body;
+        try {
+            body = getResponseMapper().writeValueAsString(obj);
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to write " + obj.getClass().getSimpleName().toLowerCase()
+                    + " " + obj.getUri(), e);
+        }
+        final MetadataCache cache = getSettings().getMetadataCache();
+        if (cache != null) {
+            cache.put(obj.getUri(), body, null, null);
+        }
+        return body;
+    }
+
+    <T extends Obj> T readCachedObj(final String body, final String uri, final Class<T> cls) {
+        try {
+            return getResponseMapper().readValue(body, cls);
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to read " + cls.getSimpleName().toLowerCase() + " " + uri, e);
+        }
+    }
+
     /**
      * Retrieves a collection of objects corresponding to the supplied collection of URIs.
+     * <p>
+     * More than {@link #DEFAULT_BULK_GET_BATCH_SIZE} URIs are split into chunks retrieved concurrently,
+     * see {@link #streamObjsByUris(Project, Collection, int, int)}.
      *
      * @param project project that contains the objects to be retrieved
      * @param uris collection of URIs
@@ -114,9 +224,55 @@ public class MetadataService extends AbstractService {
         notNull(project, "project");
         notNull(project.getId(), "project.id");
         notNull(uris, "uris");
+        if (uris.size() <= DEFAULT_BULK_GET_BATCH_SIZE) {
+            return bulkGet(project.getId(), uris);
+        }
+        return streamObjsByUris(project, uris).collect(Collectors.toList());
+    }
+
+    /**
+     * Lazily retrieves objects corresponding to the supplied collection of URIs using
+     * {@link #DEFAULT_BULK_GET_BATCH_SIZE default batch size} and {@link #DEFAULT_BULK_GET_PARALLELISM default
+     * parallelism}.
+     *
+     * @param project project that contains the objects to be retrieved
+     * @param uris collection of URIs
+     * @return stream of metadata objects corresponding to the supplied URIs
+     * @see #streamObjsByUris(Project, Collection, int, int)
+     */
+    public Stream<Obj> streamObjsByUris(Project project, Collection<String> uris) {
+        return streamObjsByUris(project, uris, DEFAULT_BULK_GET_BATCH_SIZE, DEFAULT_BULK_GET_PARALLELISM);
+    }
+
+    /**
+     * Lazily retrieves objects corresponding to the supplied collection of URIs. The URIs are split into chunks
+     * of the given size, each retrieved by single request. Up to the given number of requests runs concurrently
+     * ahead of the stream consumer, so the first objects are available before the last chunk is retrieved.
+     * <p>
+     * The objects are streamed in order of the chunks. Closing the stream stops the running requests.
+     *
+     * @param project     project that contains the objects to be retrieved
+     * @param uris        collection of URIs
+     * @param batchSize   maximum number of URIs retrieved by single request
+     * @param parallelism maximum number of concurrent requests
+     * @return stream of metadata objects corresponding to the supplied URIs
+     */
+    public Stream<Obj> streamObjsByUris(Project project, Collection<String> uris, int batchSize, int parallelism) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        notNull(uris, "uris");
+        isTrue(batchSize > 0, "batchSize must be greater than zero");
+        isTrue(parallelism > 0, "parallelism must be greater than zero");
+
+        final ChunkedBulkGet chunks = new ChunkedBulkGet(this, project.getId(), uris, batchSize, parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .onClose(chunks::close)
+                .flatMap(Collection::stream);
+    }
 
+    Collection<Obj> bulkGet(final String projectId, final Collection<String> uris) {
         try {
-            final BulkGet result = restTemplate.postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, project.getId());
+            final BulkGet result = restTemplate.postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, projectId);
 
             if (result != null) {
                 return result.getItems();
@@ -140,8 +296,14 @@ public class MetadataService extends AbstractService {
     public <T extends Updatable> T updateObj(T obj) {
         notNull(obj, "obj");
         notNull(obj.getUri(), "obj.uri");
+        invalidate(obj.getUri());
         try {
-            restTemplate.put(obj.getUri(), obj);
+            try {
+                restTemplate.put(obj.getUri(), obj);
+            } finally {
+                // drops the previous version cached by a concurrent read while the object was being updated
+                invalidate(obj.getUri());
+            }
             return getObjByUri(obj.getUri(), (Class<T>) obj.getClass());
         } catch (GoodDataException | RestClientException e) {
             throw new ObjUpdateException(obj, e);
@@ -159,6 +321,7 @@ public class MetadataService extends AbstractService {
     public void removeObj(Obj obj) {
         notNull(obj, "obj");
         notNull(obj.getUri(), "obj.uri");
+        invalidate(obj.getUri());
         try {
             restTemplate.delete(obj.getUri());
         } catch (GoodDataRestException e) {
@@ -182,6 +345,7 @@ public class MetadataService extends AbstractService {
      */
     public void removeObjByUri(String uri) {
         notNull(uri, "uri");
+        invalidate(uri);
         try {
             restTemplate.delete(uri);
         } catch (GoodDataRestException e) {
@@ -195,6 +359,13 @@ public class MetadataService extends AbstractService {
         }
     }
 
+    private void invalidate(final String uri) {
+        final MetadataCache cache = getSettings().getMetadataCache();
+        if (cache != null) {
+            cache.remove(uri);
+        }
+    }
+
     /**
      * Get metadata object by id.
      *
@@ -51,6 +51,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.gooddata.sdk.common.util.Validate.noNullElements;
@@ -188,6 +189,20 @@ public class ProjectService extends AbstractService {
         });
     }
 
+    /**
+     * Create new project asynchronously. Neither the creation request nor the waiting for the project
+     * blocks the calling thread.
+     *
+     * @param project project to be created
+     * @return future of the created project, failed by {@link GoodDataException} when projects creation fails
+     * @see #createProject(Project)
+     * @see com.gooddata.sdk.service.AsyncRequestExecutor
+     */
+    public CompletableFuture<Project> createProjectAsync(final Project project) {
+        notNull(project, "project");
+        return executeAsyncAndPoll(() -> createProject(project));
+    }
+
     /**
      * Get project by URI.
      *
@@ -222,6 +237,19 @@ public class ProjectService extends AbstractService {
         return getProjectByUri(PROJECT_TEMPLATE.expand(id).toString());
     }
 
+    /**
+     * Get project by id asynchronously, the calling thread is not blocked.
+     *
+     * @param id id of project
+     * @return future of the project, failed by {@link GoodDataException} when project can't be accessed
+     * @see #getProjectById(String)
+     * @see com.gooddata.sdk.service.AsyncRequestExecutor
+     */
+    public CompletableFuture<Project> getProjectByIdAsync(final String id) {
+        notEmpty(id, "id");
+        return executeAsync(() -> getProjectById(id));
+    }
+
     /**
      * Removes given project
      * @param project project to be removed
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit;
+
+import static com.gooddata.sdk.common.util.Validate.isTrue;
+
+/**
+ * Limits the number of requests in flight by a limit adapted to the responses of the server
+ * (additive increase, multiplicative decrease). Each successful request grows the limit by {@code 1 / limit},
+ * i.e. by one per round of requests, up to the maximum. Each request rejected by the server as overloaded
+ * shrinks the limit by the backoff ratio down to the minimum.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    /**
+     * Creates new limiter.
+     *
+     * @param initialLimit initial number of requests allowed in flight
+     * @param minLimit     minimal number of requests allowed in flight
+     * @param maxLimit     maximal number of requests allowed in flight
+     * @param backoffRatio ratio the limit is multiplied by on overload, between 0 and 1
+     */
+    public AimdConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+                                  final double backoffRatio) {
+        isTrue(minLimit > 0, "minLimit must be greater than zero");
+        isTrue(maxLimit >= minLimit, "maxLimit must not be lower than minLimit");
+        isTrue(initialLimit >= minLimit && initialLimit <= maxLimit, "initialLimit must be between minLimit and maxLimit");
+        isTrue(backoffRatio > 0 && backoffRatio < 1, "backoffRatio must be between 0 and 1");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Waits until the number of requests in flight is below the limit and registers a new one.
+     *
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= getLimit()) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Unregisters request which succeeded and grows the limit.
+     */
+    public synchronized void onSuccess() {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+        release();
+    }
+
+    /**
+     * Unregisters request rejected by the server as overloaded and shrinks the limit.
+     */
+    public synchronized void onOverload() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        release();
+    }
+
+    /**
+     * Unregisters request which outcome says nothing about the server load (e.g. an I/O error)
+     * keeping the limit as it is.
+     */
+    public synchronized void onIgnore() {
+        release();
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * @return current number of requests allowed in flight
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return current number of requests in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.gooddata.sdk.common.util.Validate.notEmpty;
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Client side limits of the requests per family of API resources. The family is given by Ant style pattern
+ * of the resource path (see {@link org.springframework.util.AntPathMatcher}), the first matching one applies.
+ * Requests matching no pattern aren't limited.
+ */
+public class RateLimitSettings {
+
+    /**
+     * Metadata resources.
+     */
+    public static final String METADATA = "/gdc/md/**";
+
+    /**
+     * Project resources.
+     */
+    public static final String PROJECTS = "/gdc/projects/**";
+
+    /**
+     * Account resources.
+     */
+    public static final String ACCOUNT = "/gdc/account/**";
+
+    /**
+     * Executions of AFM and visualizations including their results.
+     */
+    public static final String EXECUTE_AFM = "/gdc/app/projects/*/execut*/**";
+
+    private final Map<String, RequestLimit> limits = new LinkedHashMap<>();
+
+    /**
+     * Sets limit of the requests to resources matching given pattern.
+     *
+     * @param pattern Ant style pattern of the resource path, e.g. {@link #METADATA}
+     * @param limit   limit of the requests
+     */
+    public void setLimit(final String pattern, final RequestLimit limit) {
+        limits.put(notEmpty(pattern, "pattern"), notNull(limit, "limit"));
+    }
+
+    /**
+     * @return limits by the pattern of the resource path in the order of evaluation
+     */
+    public Map<String, RequestLimit> getLimits() {
+        return Collections.unmodifiableMap(limits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RateLimitSettings that = (RateLimitSettings) o;
+        return Objects.equals(limits, that.limits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(limits);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Request factory applying {@link RateLimitSettings} to the requests created by the delegate factory.
+ * The request waits for its rate and concurrency permits when executed and the concurrency permit is returned
+ * once its response is closed. Responses 429 (Too Many Requests) and 503 (Service Unavailable) shrink
+ * the concurrency limit of the family, so the retries of the rejected requests don't overload the server again.
+ * <p>
+ * Unlike the request interceptors of the {@link org.springframework.web.client.RestTemplate}, the factory
+ * doesn't buffer the request body.
+ */
+public class RateLimitingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final Map<String, Limiter> limiters = new LinkedHashMap<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    /**
+     * Creates new factory.
+     *
+     * @param delegate request factory to create the requests
+     * @param settings limits of the requests
+     */
+    public RateLimitingClientHttpRequestFactory(final ClientHttpRequestFactory delegate,
+                                                final RateLimitSettings settings) {
+        this.delegate = notNull(delegate, "delegate");
+        notNull(settings, "settings");
+        for (Map.Entry<String, RequestLimit> limit : settings.getLimits().entrySet()) {
+            limiters.put(limit.getKey(), new Limiter(limit.getValue()));
+        }
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        final ClientHttpRequest request = delegate.createRequest(uri, httpMethod);
+        final Limiter limiter = getLimiter(uri.getPath());
+        if (limiter == null) {
+            return request;
+        }
+        return request instanceof StreamingHttpOutputMessage
+                ? new StreamingLimitedClientHttpRequest(request, limiter)
+                : new LimitedClientHttpRequest(request, limiter);
+    }
+
+    private Limiter getLimiter(final String path) {
+        if (path == null) {
+            return null;
+        }
+        for (Map.Entry<String, Limiter> limiter : limiters.entrySet()) {
+            if (matcher.match(limiter.getKey(), path)) {
+                return limiter.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static class Limiter {
+
+        private final TokenBucketRateLimiter rateLimiter;
+        private final AimdConcurrencyLimiter concurrencyLimiter;
+
+        private Limiter(final RequestLimit limit) {
+            this.rateLimiter = limit.getPermitsPerSecond() == null ? null
+                    : new TokenBucketRateLimiter(limit.getPermitsPerSecond(), limit.getBurst());
+            if (limit.getMaxConcurrency() == null) {
+                this.concurrencyLimiter = null;
+            } else {
+                final int max = limit.getMaxConcurrency();
+                final int min = Math.min(limit.getMinConcurrency(), max);
+                final int initial = Math.max(min, Math.min(limit.getInitialConcurrency(), max));
+                this.concurrencyLimiter = new AimdConcurrencyLimiter(initial, min, max, limit.getBackoffRatio());
+            }
+        }
+
+        private void acquire() throws IOException {
+            try {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire();
+                }
+                if (concurrencyLimiter != null) {
+                    concurrencyLimiter.acquire();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for request limit");
+            }
+        }
+    }
+
+    private static class LimitedClientHttpRequest implements ClientHttpRequest {
+
+        final ClientHttpRequest request;
+        private final Limiter limiter;
+
+        private LimitedClientHttpRequest(final ClientHttpRequest request, final Limiter limiter) {
+            this.request = request;
+            this.limiter = limiter;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            limiter.acquire();
+            final AimdConcurrencyLimiter concurrencyLimiter = limiter.concurrencyLimiter;
+            if (concurrencyLimiter == null) {
+                return request.execute();
+            }
+            final ClientHttpResponse response;
+            final int status;
+            try {
+                response = request.execute();
+            } catch (IOException | RuntimeException e) {
+                concurrencyLimiter.onIgnore();
+                throw e;
+            }
+            try {
+                status = response.getRawStatusCode();
+            } catch (IOException | RuntimeException e) {
+                concurrencyLimiter.onIgnore();
+                response.close();
+                throw e;
+            }
+            return new LimitedClientHttpResponse(response, concurrencyLimiter,
+                    status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+    }
+
+    private static class StreamingLimitedClientHttpRequest extends LimitedClientHttpRequest
+            implements StreamingHttpOutputMessage {
+
+        private StreamingLimitedClientHttpRequest(final ClientHttpRequest request, final Limiter limiter) {
+            super(request, limiter);
+        }
+
+        @Override
+        public void setBody(final Body body) {
+            ((StreamingHttpOutputMessage) request).setBody(body);
+        }
+    }
+
+    private static class LimitedClientHttpResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final AimdConcurrencyLimiter concurrencyLimiter;
+        private final boolean overloaded;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private LimitedClientHttpResponse(final ClientHttpResponse response,
+                                          final AimdConcurrencyLimiter concurrencyLimiter, final boolean overloaded) {
+            this.response = response;
+            this.concurrencyLimiter = concurrencyLimiter;
+            this.overloaded = overloaded;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    if (overloaded) {
+                        concurrencyLimiter.onOverload();
+                    } else {
+                        concurrencyLimiter.onSuccess();
+                    }
+                }
+            }
+        }
+    }
+}
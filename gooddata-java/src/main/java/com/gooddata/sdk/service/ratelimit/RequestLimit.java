@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.Objects;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Limits of the requests to a family of API resources, see {@link RateLimitSettings}.
+ * Rate of the requests is limited by {@link TokenBucketRateLimiter} when {@link #getPermitsPerSecond()} is set,
+ * number of the requests in flight is limited by {@link AimdConcurrencyLimiter} when {@link #getMaxConcurrency()}
+ * is set.
+ */
+public class RequestLimit {
+
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private Double permitsPerSecond;
+    private Integer burst;
+    private Integer maxConcurrency;
+    private Integer initialConcurrency;
+    private int minConcurrency = 1;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+    /**
+     * @return number of requests allowed per second, null when the rate isn't limited
+     */
+    public Double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(final Double permitsPerSecond) {
+        isTrue(permitsPerSecond == null || permitsPerSecond > 0, "permitsPerSecond has to be greater than 0");
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Number of requests allowed at once after a period of inactivity. Defaults to the number of requests
+     * allowed per second (at least one).
+     * @return burst
+     */
+    public int getBurst() {
+        if (burst != null) {
+            return burst;
+        }
+        return permitsPerSecond == null ? 1 : Math.max(1, (int) Math.ceil(permitsPerSecond));
+    }
+
+    public void setBurst(final Integer burst) {
+        isTrue(burst == null || burst > 0, "burst has to be greater than 0");
+        this.burst = burst;
+    }
+
+    /**
+     * @return maximal number of requests in flight, null when the concurrency isn't limited
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(final Integer maxConcurrency) {
+        isTrue(maxConcurrency == null || maxConcurrency > 0, "maxConcurrency has to be greater than 0");
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Number of requests allowed in flight before the limit adapts to the server responses.
+     * Defaults to the {@link #getMaxConcurrency() maximum}.
+     * @return initial concurrency
+     */
+    public Integer getInitialConcurrency() {
+        return initialConcurrency != null ? initialConcurrency : maxConcurrency;
+    }
+
+    public void setInitialConcurrency(final Integer initialConcurrency) {
+        isTrue(initialConcurrency == null || initialConcurrency > 0, "initialConcurrency has to be greater than 0");
+        this.initialConcurrency = initialConcurrency;
+    }
+
+    /**
+     * @return minimal number of requests in flight the limit can shrink to
+     */
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public void setMinConcurrency(final int minConcurrency) {
+        isTrue(minConcurrency > 0, "minConcurrency has to be greater than 0");
+        this.minConcurrency = minConcurrency;
+    }
+
+    /**
+     * @return ratio the concurrency limit is multiplied by when the server responds 429 or 503
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(final double backoffRatio) {
+        isTrue(backoffRatio > 0 && backoffRatio < 1, "backoffRatio has to be between 0 and 1");
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RequestLimit that = (RequestLimit) o;
+        return minConcurrency == that.minConcurrency
+                && Double.compare(that.backoffRatio, backoffRatio) == 0
+                && Objects.equals(permitsPerSecond, that.permitsPerSecond)
+                && Objects.equals(burst, that.burst)
+                && Objects.equals(maxConcurrency, that.maxConcurrency)
+                && Objects.equals(initialConcurrency, that.initialConcurrency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(permitsPerSecond, burst, maxConcurrency, initialConcurrency, minConcurrency, backoffRatio);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.Validate.isTrue;
+
+/**
+ * Token bucket limiting the rate of requests. The bucket is refilled by {@code permitsPerSecond} tokens
+ * per second up to its {@code burst} capacity and each request takes one token. When the bucket is empty,
+ * the requests wait for their tokens in the order of arrival.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+
+    private double tokens;
+    private long refilled;
+
+    /**
+     * Creates new rate limiter with full bucket.
+     *
+     * @param permitsPerSecond number of requests allowed per second
+     * @param burst            number of requests allowed at once after a period of inactivity
+     */
+    public TokenBucketRateLimiter(final double permitsPerSecond, final int burst) {
+        isTrue(permitsPerSecond > 0, "permitsPerSecond must be greater than zero");
+        isTrue(burst > 0, "burst must be greater than zero");
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilled = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, waiting until it is available.
+     *
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        final long wait = reserve(System.nanoTime());
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Takes one token, possibly in advance.
+     *
+     * @param now current time in nanoseconds
+     * @return time in nanoseconds until the taken token is available
+     */
+    synchronized long reserve(final long now) {
+        if (now > refilled) {
+            tokens = Math.min(burst, tokens + (now - refilled) * permitsPerNano);
+            refilled = now;
+        }
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
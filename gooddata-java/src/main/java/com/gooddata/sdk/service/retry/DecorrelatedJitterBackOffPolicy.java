@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Exponential back off randomized by decorrelated jitter. Each interval is random value between the initial
+ * interval and the previous interval multiplied by the multiplier, capped by the maximal interval.
+ * Unlike plain exponential back off, the retries of requests failed at once don't hit the server at once again.
+ */
+public class DecorrelatedJitterBackOffPolicy implements BackOffPolicy {
+
+    private final long initialInterval;
+    private final long maxInterval;
+    private final double multiplier;
+    private Sleeper sleeper = new ThreadWaitSleeper();
+
+    /**
+     * Creates new policy.
+     * @param initialInterval initial (and minimal) interval in milliseconds
+     * @param maxInterval maximal interval in milliseconds
+     * @param multiplier multiplier of the previous interval bounding the next one
+     */
+    public DecorrelatedJitterBackOffPolicy(long initialInterval, long maxInterval, double multiplier) {
+        isTrue(initialInterval > 0, "initialInterval has to be greater than 0");
+        isTrue(maxInterval >= initialInterval, "maxInterval has to be greater or equal to initialInterval");
+        isTrue(multiplier > 1, "multiplier has to be greater than 1.0");
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.multiplier = multiplier;
+    }
+
+    void setSleeper(Sleeper sleeper) {
+        this.sleeper = notNull(sleeper, "sleeper");
+    }
+
+    @Override
+    public BackOffContext start(RetryContext context) {
+        return new JitterBackOffContext(initialInterval);
+    }
+
+    @Override
+    public void backOff(BackOffContext backOffContext) {
+        final JitterBackOffContext context = (JitterBackOffContext) backOffContext;
+        final long interval = nextInterval(context.interval, ThreadLocalRandom.current().nextDouble());
+        context.interval = interval;
+        try {
+            sleeper.sleep(interval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
+        }
+    }
+
+    /**
+     * @param previous previous interval
+     * @param random random value between 0 (inclusive) and 1 (exclusive)
+     * @return next interval
+     */
+    long nextInterval(long previous, double random) {
+        final double upper = Math.min(maxInterval, previous * multiplier);
+        return Math.min(maxInterval, (long) (initialInterval + random * Math.max(0, upper - initialInterval)));
+    }
+
+    private static class JitterBackOffContext implements BackOffContext {
+        private long interval;
+
+        private JitterBackOffContext(long interval) {
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry;
+
+import org.springframework.web.util.UriTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.Arrays.asList;
+
+/**
+ * Retries idempotent requests on server errors ({@link GetServerErrorRetryStrategy#RETRYABLE_STATES}) and I/O errors,
+ * and any request rejected with 429 (Too Many Requests), as such request wasn't processed by the server.
+ * <p>
+ * GET, HEAD and OPTIONS requests are idempotent, the requests of other methods only when their URI matches
+ * one of the given URI templates (see {@link RetrySettings#getIdempotentRequests()}).
+ */
+public class IdempotentRequestRetryStrategy implements RetryStrategy {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final Collection<String> IDEMPOTENT_METHODS = Collections.unmodifiableCollection(asList("GET", "HEAD", "OPTIONS"));
+
+    private final Map<String, List<UriTemplate>> idempotentRequests = new HashMap<>();
+
+    /**
+     * Creates new strategy.
+     * @param idempotentRequests URI templates of idempotent requests by HTTP method
+     */
+    public IdempotentRequestRetryStrategy(Map<String, ? extends Collection<String>> idempotentRequests) {
+        notNull(idempotentRequests, "idempotentRequests");
+        for (Map.Entry<String, ? extends Collection<String>> requests : idempotentRequests.entrySet()) {
+            final List<UriTemplate> templates = new ArrayList<>();
+            for (String template : requests.getValue()) {
+                templates.add(new UriTemplate(template));
+            }
+            this.idempotentRequests.put(requests.getKey().toUpperCase(), templates);
+        }
+    }
+
+    @Override
+    public boolean retryAllowed(String method, int statusCode, URI uri) {
+        return statusCode == TOO_MANY_REQUESTS
+                || (GetServerErrorRetryStrategy.RETRYABLE_STATES.contains(statusCode) && isIdempotent(method, uri));
+    }
+
+    @Override
+    public boolean retryAllowedOnIoError(String method, URI uri) {
+        return isIdempotent(method, uri);
+    }
+
+    private boolean isIdempotent(String method, URI uri) {
+        if (IDEMPOTENT_METHODS.contains(method)) {
+            return true;
+        }
+        final List<UriTemplate> templates = idempotentRequests.get(method);
+        if (templates == null || uri == null || uri.getPath() == null) {
+            return false;
+        }
+        return templates.stream().anyMatch(template -> template.matches(uri.getPath()));
+    }
+}
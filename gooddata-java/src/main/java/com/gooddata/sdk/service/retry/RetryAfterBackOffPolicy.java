@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Waits as requested by {@code Retry-After} header of the failed response (see {@link RetryableRestTemplate}),
+ * at most the maximal interval. Falls back to the delegate policy when the header is missing.
+ */
+public class RetryAfterBackOffPolicy implements BackOffPolicy {
+
+    private final BackOffPolicy delegate;
+    private final long maxInterval;
+    private Sleeper sleeper = new ThreadWaitSleeper();
+
+    /**
+     * Creates new policy.
+     * @param delegate policy used when the failed response has no {@code Retry-After} header
+     * @param maxInterval maximal interval in milliseconds
+     */
+    public RetryAfterBackOffPolicy(BackOffPolicy delegate, long maxInterval) {
+        this.delegate = notNull(delegate, "delegate");
+        this.maxInterval = maxInterval;
+    }
+
+    void setSleeper(Sleeper sleeper) {
+        this.sleeper = notNull(sleeper, "sleeper");
+    }
+
+    @Override
+    public BackOffContext start(RetryContext context) {
+        return new RetryAfterBackOffContext(context, delegate.start(context));
+    }
+
+    @Override
+    public void backOff(BackOffContext backOffContext) {
+        final RetryAfterBackOffContext context = (RetryAfterBackOffContext) backOffContext;
+        final Object retryAfter = context.retryContext == null ? null
+                : context.retryContext.getAttribute(RetryableRestTemplate.RETRY_AFTER_ATTRIBUTE);
+        if (retryAfter instanceof Long) {
+            try {
+                sleeper.sleep(Math.min((Long) retryAfter, maxInterval));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
+            }
+        } else {
+            delegate.backOff(context.delegate);
+        }
+    }
+
+    private static class RetryAfterBackOffContext implements BackOffContext {
+        private final RetryContext retryContext;
+        private final BackOffContext delegate;
+
+        private RetryAfterBackOffContext(RetryContext retryContext, BackOffContext delegate) {
+            this.retryContext = retryContext;
+            this.delegate = delegate;
+        }
+    }
+}
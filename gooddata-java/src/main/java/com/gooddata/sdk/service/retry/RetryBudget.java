@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Limits retries to a ratio of the requests, shared by all requests of the {@link RetryableRestTemplate}.
+ * Each request deposits the ratio into the budget and each retry withdraws one, up to the capacity of the budget.
+ * When the API fails for all requests, at most the given ratio of additional requests is sent,
+ * instead of multiplying the load by the retry count.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double capacity;
+
+    private double balance;
+
+    /**
+     * Creates new budget, full initially.
+     * @param ratio ratio of retries to requests
+     * @param capacity maximal number of retries the budget can hold
+     */
+    public RetryBudget(double ratio, int capacity) {
+        isTrue(ratio > 0, "ratio has to be greater than 0");
+        isTrue(capacity > 0, "capacity has to be greater than 0");
+        this.ratio = ratio;
+        this.capacity = capacity;
+        this.balance = capacity;
+    }
+
+    /**
+     * Deposits the ratio for new request.
+     */
+    public synchronized void onRequest() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    /**
+     * Withdraws one retry if available.
+     * @return true when the retry is allowed by the budget
+     */
+    public synchronized boolean tryRetry() {
+        if (balance >= 1) {
+            balance -= 1;
+            return true;
+        }
+        return false;
+    }
+}
@@ -5,8 +5,20 @@
  */
 package com.gooddata.sdk.service.retry;
 
+import com.gooddata.sdk.model.executeafm.Execution;
+import com.gooddata.sdk.model.executeafm.VisualizationExecution;
+import com.gooddata.sdk.model.md.BulkGet;
+import com.gooddata.sdk.model.md.IdentifiersAndUris;
+import com.gooddata.sdk.model.md.InUseMany;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import static org.springframework.util.Assert.hasText;
 import static org.springframework.util.Assert.isTrue;
 
 /**
@@ -18,11 +30,24 @@ public class RetrySettings {
     private Long DEFAULT_RETRY_INITIAL_INTERVAL = 1 * 1000l;  // 1s
     private Long DEFAULT_RETRY_MAX_INTERVAL = 1 * 60 * 1000l; // 1min
     private Double DEFAULT_RETRY_MULTIPLIER = 2d;
+    private Double DEFAULT_RETRY_BUDGET_RATIO = 0.1;
 
     private Integer retryCount = DEFAULT_RETRY_COUNT;
     private Long retryInitialInterval = DEFAULT_RETRY_INITIAL_INTERVAL;
     private Long retryMaxInterval = DEFAULT_RETRY_MAX_INTERVAL;
     private Double retryMultiplier = DEFAULT_RETRY_MULTIPLIER;
+    private boolean retryJitter;
+    private Double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+    private Integer retryBudgetCapacity;
+    private final Map<String, Set<String>> idempotentRequests = new LinkedHashMap<>();
+
+    public RetrySettings() {
+        addIdempotentRequest("POST", BulkGet.URI);
+        addIdempotentRequest("POST", InUseMany.USEDBY_URI);
+        addIdempotentRequest("POST", IdentifiersAndUris.URI);
+        addIdempotentRequest("POST", Execution.URI);
+        addIdempotentRequest("POST", VisualizationExecution.URI);
+    }
 
     /**
      * Total retry count. Should be > 0. No retry if not set.
@@ -77,6 +102,72 @@ public class RetrySettings {
         this.retryMultiplier = retryMultiplier;
     }
 
+    /**
+     * If set, the intervals between retries are randomized by decorrelated jitter, each interval is random value
+     * between the initial interval and the previous interval multiplied by the {@link #getRetryMultiplier() multiplier}.
+     * Spreads the retries of concurrent requests failed at once. Applies only when the multiplier is set.
+     * @return true when jitter is applied
+     */
+    public boolean isRetryJitter() {
+        return retryJitter;
+    }
+
+    public void setRetryJitter(boolean retryJitter) {
+        this.retryJitter = retryJitter;
+    }
+
+    /**
+     * Ratio of retries to requests allowed by the retry budget shared by all requests. Each request adds this
+     * ratio to the budget, each retry takes one from it, no retry is done when the budget is empty.
+     * Prevents retry amplification when the API is failing. The budget applies only when both the ratio and
+     * the {@link #getRetryBudgetCapacity() capacity} are set, the ratio is 0.1 by default.
+     * @return retry budget ratio
+     */
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(Double retryBudgetRatio) {
+        isTrue(retryBudgetRatio == null || retryBudgetRatio > 0, "retryBudgetRatio has to be greater than 0");
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    /**
+     * Maximal number of retries the retry budget can hold, the budget is full initially.
+     * Not set by default, so no budget applies and each request is retried up to the
+     * {@link #getRetryCount() retry count}.
+     * @return retry budget capacity
+     */
+    public Integer getRetryBudgetCapacity() {
+        return retryBudgetCapacity;
+    }
+
+    public void setRetryBudgetCapacity(Integer retryBudgetCapacity) {
+        isTrue(retryBudgetCapacity == null || retryBudgetCapacity > 0, "retryBudgetCapacity has to be greater than 0");
+        this.retryBudgetCapacity = retryBudgetCapacity;
+    }
+
+    /**
+     * Requests safe to be retried in addition to GET, HEAD and OPTIONS ones, by HTTP method and URI templates.
+     * By default the POST requests of bulk get, usedBy, identifiers to URIs and AFM or visualization execution.
+     * @return URI templates of idempotent requests by HTTP method
+     */
+    public Map<String, Set<String>> getIdempotentRequests() {
+        return Collections.unmodifiableMap(idempotentRequests);
+    }
+
+    /**
+     * Marks requests of given HTTP method and URI template as safe to be retried after server error
+     * or I/O error.
+     * @param method HTTP method
+     * @param uriTemplate URI template, e.g. {@code /gdc/md/{projectId}/objects/get}
+     */
+    public void addIdempotentRequest(String method, String uriTemplate) {
+        hasText(method, "method has to be set");
+        hasText(uriTemplate, "uriTemplate has to be set");
+        idempotentRequests.computeIfAbsent(method.toUpperCase(), key -> new LinkedHashSet<>()).add(uriTemplate);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -85,11 +176,16 @@ public class RetrySettings {
         return Objects.equals(retryCount, that.retryCount) &&
                 Objects.equals(retryInitialInterval, that.retryInitialInterval) &&
                 Objects.equals(retryMaxInterval, that.retryMaxInterval) &&
-                Objects.equals(retryMultiplier, that.retryMultiplier);
+                Objects.equals(retryMultiplier, that.retryMultiplier) &&
+                retryJitter == that.retryJitter &&
+                Objects.equals(retryBudgetRatio, that.retryBudgetRatio) &&
+                Objects.equals(retryBudgetCapacity, that.retryBudgetCapacity) &&
+                Objects.equals(idempotentRequests, that.idempotentRequests);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(retryCount, retryInitialInterval, retryMaxInterval, retryMultiplier);
+        return Objects.hash(retryCount, retryInitialInterval, retryMaxInterval, retryMultiplier, retryJitter,
+                retryBudgetRatio, retryBudgetCapacity, idempotentRequests);
     }
 }
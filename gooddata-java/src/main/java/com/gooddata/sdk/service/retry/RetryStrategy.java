@@ -21,4 +21,15 @@ public interface RetryStrategy {
      */
     boolean retryAllowed(String method, int statusCode, URI uri);
 
+    /**
+     * Method says if retry is allowed after I/O error (e.g. connection reset), when it's unknown whether
+     * the request was processed by the server. Not allowed by default.
+     * @param method HTTP method
+     * @param uri requested URL
+     * @return {@code true} it retry is allowed
+     */
+    default boolean retryAllowedOnIoError(String method, URI uri) {
+        return false;
+    }
+
 }
@@ -6,32 +6,50 @@
 package com.gooddata.sdk.service.retry;
 
 import com.gooddata.sdk.common.GoodDataRestException;
+import com.gooddata.sdk.service.util.RetryAfter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffPolicy;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.backoff.NoBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.OptionalLong;
 
 import static org.apache.commons.lang3.Validate.notNull;
 
 /**
  * REST template with retry ability. Its behavior is described by given strategy and retry template.
+ * Optional {@link RetryBudget} limits the retries of all requests to a ratio of the requests.
+ * The delay requested by {@code Retry-After} header of the failed response is exposed to the back off policy
+ * (see {@link RetryAfterBackOffPolicy}) by {@link #RETRY_AFTER_ATTRIBUTE} of the retry context.
  */
 public class RetryableRestTemplate extends RestTemplate {
 
+    /**
+     * Retry context attribute holding milliseconds to wait as requested by the last failed response.
+     */
+    public static final String RETRY_AFTER_ATTRIBUTE = RetryableRestTemplate.class.getName() + ".retryAfter";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final RetryTemplate retryTemplate;
     private final RetryStrategy retryStrategy;
+    private final RetryBudget retryBudget;
 
     /**
      * Create a new instance of the {@link RetryableRestTemplate}.
@@ -40,30 +58,78 @@ public class RetryableRestTemplate extends RestTemplate {
      * @param retryStrategy retry strategy
      */
     public RetryableRestTemplate(ClientHttpRequestFactory requestFactory, RetryTemplate retryTemplate, RetryStrategy retryStrategy) {
+        this(requestFactory, retryTemplate, retryStrategy, null);
+    }
+
+    /**
+     * Create a new instance of the {@link RetryableRestTemplate}.
+     * @param requestFactory HTTP request factory to use
+     * @param retryTemplate retry template
+     * @param retryStrategy retry strategy
+     * @param retryBudget budget of the retries, null for no budget
+     */
+    public RetryableRestTemplate(ClientHttpRequestFactory requestFactory, RetryTemplate retryTemplate,
+                                 RetryStrategy retryStrategy, RetryBudget retryBudget) {
         super(requestFactory);
         notNull(retryTemplate);
         this.retryTemplate = retryTemplate;
         this.retryStrategy = retryStrategy;
+        this.retryBudget = retryBudget;
     }
 
     @Override
     protected <T> T doExecute(URI url, HttpMethod method, RequestCallback requestCallback,
                               ResponseExtractor<T> responseExtractor) throws RestClientException {
         return retryTemplate.execute(context -> {
+            if (context.getRetryCount() == 0 && retryBudget != null) {
+                retryBudget.onRequest();
+            }
+            context.removeAttribute(RETRY_AFTER_ATTRIBUTE);
             try {
                 return super.doExecute(url, method, requestCallback, responseExtractor);
             } catch (GoodDataRestException e) {
-                if (!retryStrategy.retryAllowed(method.toString(), e.getStatusCode(), url)) {
+                if (!retryStrategy.retryAllowed(method.toString(), e.getStatusCode(), url) || !withdrawRetry(context)) {
                     context.setExhaustedOnly();
                 } else {
                     final int retryCount = context.getRetryCount();
                     logger.info("{}call of {} {} failed, HTTP {} and will be retried, {} ", retryCount == 0 ? "" : retryCount + " ", method, url, e.getStatusCode(), e.getMessage());
                 }
                 throw e;
+            } catch (ResourceAccessException e) {
+                if (!retryStrategy.retryAllowedOnIoError(method.toString(), url) || !withdrawRetry(context)) {
+                    context.setExhaustedOnly();
+                } else {
+                    final int retryCount = context.getRetryCount();
+                    logger.info("{}call of {} {} failed and will be retried, {} ", retryCount == 0 ? "" : retryCount + " ", method, url, e.getMessage());
+                }
+                throw e;
             }
         });
     }
 
+    /**
+     * Records the delay requested by {@code Retry-After} header of the response into the retry context.
+     */
+    @Override
+    protected void handleResponse(URI url, HttpMethod method, ClientHttpResponse response) throws IOException {
+        final RetryContext context = RetrySynchronizationManager.getContext();
+        if (context != null) {
+            final OptionalLong retryAfter = RetryAfter.getDelay(response.getHeaders());
+            if (retryAfter.isPresent()) {
+                context.setAttribute(RETRY_AFTER_ATTRIBUTE, retryAfter.getAsLong());
+            }
+        }
+        super.handleResponse(url, method, response);
+    }
+
+    private boolean withdrawRetry(RetryContext context) {
+        if (retryBudget == null || retryBudget.tryRetry()) {
+            return true;
+        }
+        logger.info("Retry budget exhausted, call failed after {} retries", context.getRetryCount());
+        return false;
+    }
+
     /**
      * Creates new retryable REST template.
      * @param retrySettings retry settings
@@ -77,20 +143,30 @@ public class RetryableRestTemplate extends RestTemplate {
             retryTemplate.setRetryPolicy(new SimpleRetryPolicy(retrySettings.getRetryCount()));
         }
 
+        BackOffPolicy backOffPolicy = new NoBackOffPolicy();
         if (retrySettings.getRetryInitialInterval() != null) {
-            if (retrySettings.getRetryMultiplier() != null) {
+            if (retrySettings.getRetryMultiplier() != null && retrySettings.isRetryJitter()) {
+                backOffPolicy = new DecorrelatedJitterBackOffPolicy(retrySettings.getRetryInitialInterval(),
+                        Math.max(retrySettings.getRetryInitialInterval(), retrySettings.getRetryMaxInterval()),
+                        retrySettings.getRetryMultiplier());
+            } else if (retrySettings.getRetryMultiplier() != null) {
                 final ExponentialBackOffPolicy exponentialBackOffPolicy = new ExponentialBackOffPolicy();
                 exponentialBackOffPolicy.setInitialInterval(retrySettings.getRetryInitialInterval());
                 exponentialBackOffPolicy.setMultiplier(retrySettings.getRetryMultiplier());
                 exponentialBackOffPolicy.setMaxInterval(retrySettings.getRetryMaxInterval());
-                retryTemplate.setBackOffPolicy(exponentialBackOffPolicy);
+                backOffPolicy = exponentialBackOffPolicy;
             } else {
-                final FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
-                backOffPolicy.setBackOffPeriod(retrySettings.getRetryInitialInterval());
-                retryTemplate.setBackOffPolicy(backOffPolicy);
+                final FixedBackOffPolicy fixedBackOffPolicy = new FixedBackOffPolicy();
+                fixedBackOffPolicy.setBackOffPeriod(retrySettings.getRetryInitialInterval());
+                backOffPolicy = fixedBackOffPolicy;
             }
         }
+        retryTemplate.setBackOffPolicy(new RetryAfterBackOffPolicy(backOffPolicy, retrySettings.getRetryMaxInterval()));
 
-        return new RetryableRestTemplate(factory, retryTemplate, new GetServerErrorRetryStrategy());
+        final RetryBudget retryBudget = retrySettings.getRetryBudgetRatio() == null
+                || retrySettings.getRetryBudgetCapacity() == null ? null
+                : new RetryBudget(retrySettings.getRetryBudgetRatio(), retrySettings.getRetryBudgetCapacity());
+        return new RetryableRestTemplate(factory, retryTemplate,
+                new IdempotentRequestRetryStrategy(retrySettings.getIdempotentRequests()), retryBudget);
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gooddata.sdk.common.util.Validate.notEmpty;
+
+/**
+ * Creates daemon threads named by the given prefix and a sequence number (i.e. {@code gooddata-poll-1}),
+ * so the worker threads of the SDK don't prevent JVM from exiting and are easy to recognize in thread dumps.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Creates new factory.
+     *
+     * @param prefix prefix of the thread names
+     */
+    public DaemonThreadFactory(final String prefix) {
+        this.prefix = notEmpty(prefix, "prefix");
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
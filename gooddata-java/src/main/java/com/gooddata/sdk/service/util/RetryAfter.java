@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Utility class for reading {@code Retry-After} HTTP response header.
+ */
+public abstract class RetryAfter {
+
+    public static final String HEADER = "Retry-After";
+
+    /**
+     * Maximal delay in milliseconds returned when no other maximum is given, so a bogus header can't block
+     * the caller for ages.
+     */
+    public static final long DEFAULT_MAX_DELAY = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+
+    /**
+     * Get milliseconds to wait as requested by {@code Retry-After} header of the given headers,
+     * at most {@link #DEFAULT_MAX_DELAY}.
+     *
+     * @param headers HTTP response headers
+     * @return milliseconds to wait or empty when the header is missing or invalid
+     */
+    public static OptionalLong getDelay(final HttpHeaders headers) {
+        return getDelay(headers, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Get milliseconds to wait as requested by {@code Retry-After} header of the given headers,
+     * at most the given maximum.
+     *
+     * @param headers  HTTP response headers
+     * @param maxDelay maximal delay in milliseconds
+     * @return milliseconds to wait or empty when the header is missing or invalid
+     */
+    public static OptionalLong getDelay(final HttpHeaders headers, final long maxDelay) {
+        return headers == null ? OptionalLong.empty() : getDelay(headers.getFirst(HEADER), Clock.systemUTC(), maxDelay);
+    }
+
+    /**
+     * Get milliseconds to wait as requested by the given {@code Retry-After} header value, which can be
+     * either number of seconds or HTTP date, at most {@link #DEFAULT_MAX_DELAY}.
+     *
+     * @param value header value
+     * @param clock clock used to compute the delay from HTTP date
+     * @return milliseconds to wait or empty when the value is null or invalid
+     */
+    public static OptionalLong getDelay(final String value, final Clock clock) {
+        return getDelay(value, clock, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Get milliseconds to wait as requested by the given {@code Retry-After} header value, which can be
+     * either number of seconds or HTTP date, at most the given maximum.
+     *
+     * @param value    header value
+     * @param clock    clock used to compute the delay from HTTP date
+     * @param maxDelay maximal delay in milliseconds
+     * @return milliseconds to wait or empty when the value is null or invalid
+     */
+    public static OptionalLong getDelay(final String value, final Clock clock, final long maxDelay) {
+        isTrue(maxDelay >= 0, "maxDelay must be not negative");
+        if (value == null || value.trim().isEmpty()) {
+            return OptionalLong.empty();
+        }
+        final String trimmed = value.trim();
+        try {
+            return OptionalLong.of(limit(TimeUnit.SECONDS.toMillis(Long.parseLong(trimmed)), maxDelay));
+        } catch (NumberFormatException e) {
+            if (DIGITS.matcher(trimmed).matches()) {
+                // number of seconds out of long range
+                return OptionalLong.of(maxDelay);
+            }
+            try {
+                final long date = ZonedDateTime.parse(trimmed, RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                return OptionalLong.of(limit(date - clock.millis(), maxDelay));
+            } catch (DateTimeParseException ignored) {
+                return OptionalLong.empty();
+            }
+        }
+    }
+
+    private static long limit(final long delay, final long maxDelay) {
+        return Math.max(0, Math.min(delay, maxDelay));
+    }
+}
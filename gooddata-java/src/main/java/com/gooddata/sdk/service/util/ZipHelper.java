@@ -7,16 +7,21 @@ package com.gooddata.sdk.service.util;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.util.StreamUtils;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -24,6 +29,13 @@ import java.util.zip.ZipOutputStream;
  */
 public abstract class ZipHelper {
 
+    private static final byte[] ZIP_SIGNATURE = {'P', 'K', 3, 4};
+    private static final int DEFLATE_BLOCK_SIZE = 16 * 1024;
+    private static final int DEFLATE_BLOCK_HEADER_SIZE = 5;
+    private static final int ENTRY_HEADERS_SIZE = 30 + 16 + 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_UTF8_CHAR_SIZE = 3;
+
     /**
      * This method compresses the input file to zip format. If the given file is a directory, it recursively
      * packs the directory into the output. Not including given directory itself.
@@ -84,10 +96,80 @@ public abstract class ZipHelper {
         zos.closeEntry();
     }
 
+    /**
+     * Opens stream of the input file compressed to zip format on the fly, with the same content as written by
+     * {@link #zip(File, OutputStream)}. Unlike that, no temporary output is needed and each file is read just
+     * once, when the stream reaches it.
+     *
+     * @param file file to be zipped
+     * @return stream of the zip archive
+     * @throws IOException if the file can't be read
+     */
+    public static InputStream openZipStream(File file) throws IOException {
+        notNull(file, "file");
+        if (isZipped(file)) {
+            return Files.newInputStream(file.toPath());
+        }
+        final Map<String, InputStreamSource> entries = new LinkedHashMap<>();
+        if (file.isDirectory()) {
+            collectDirEntries(file.toPath(), file, entries);
+        } else {
+            entries.put(file.getName(), new FileSystemResource(file));
+        }
+        return new ZippingInputStream(entries);
+    }
+
+    /**
+     * Estimates size of the zip archive of the input file from the file sizes only, without reading them.
+     * The estimate is the upper bound of the size of archive created by {@link #zip(File, OutputStream)},
+     * counting the files as stored without compression (including worst case deflate overhead) with all the
+     * zip headers.
+     *
+     * @param file file to be zipped
+     * @return maximal size of the zip archive in bytes
+     */
+    public static long estimateZipSize(File file) {
+        notNull(file, "file");
+        if (file.isDirectory()) {
+            long size = END_OF_CENTRAL_DIRECTORY_SIZE;
+            for (File child : notNull(file.listFiles(), "listed files")) {
+                size += child.isDirectory() ? estimateZipSize(child) - END_OF_CENTRAL_DIRECTORY_SIZE
+                        : estimateEntrySize(child);
+            }
+            return size;
+        }
+        return isZipped(file) ? file.length() : estimateEntrySize(file) + END_OF_CENTRAL_DIRECTORY_SIZE;
+    }
+
+    private static long estimateEntrySize(File file) {
+        final long length = file.length();
+        // deflate stores incompressible data in blocks of 16kB with 5 bytes header each
+        final long deflated = length + (length / DEFLATE_BLOCK_SIZE + 1) * DEFLATE_BLOCK_HEADER_SIZE;
+        // entry name isn't known before relativizing, so the full path is counted twice (local and central header)
+        return deflated + ENTRY_HEADERS_SIZE + 2L * file.getPath().length() * MAX_UTF8_CHAR_SIZE;
+    }
+
+    private static void collectDirEntries(Path rootPath, File dir, Map<String, InputStreamSource> entries) {
+        for (File file : notNull(dir.listFiles(), "listed files")) {
+            if (file.isDirectory()) {
+                collectDirEntries(rootPath, file, entries);
+            } else {
+                entries.put(rootPath.relativize(file.toPath()).toString(), new FileSystemResource(file));
+            }
+        }
+    }
+
+    /**
+     * Checks the zip local file header signature, directories are never zipped.
+     */
     private static boolean isZipped(File file) {
-        try (final InputStream stream = Files.newInputStream(file.toPath());
-             final ZipInputStream zipStream = new ZipInputStream(stream)) {
-            return zipStream.getNextEntry() != null;
+        if (file.isDirectory()) {
+            return false;
+        }
+        try (final DataInputStream stream = new DataInputStream(Files.newInputStream(file.toPath()))) {
+            final byte[] signature = new byte[ZIP_SIGNATURE.length];
+            stream.readFully(signature);
+            return Arrays.equals(signature, ZIP_SIGNATURE);
         } catch (IOException e) {
             return false;
         }
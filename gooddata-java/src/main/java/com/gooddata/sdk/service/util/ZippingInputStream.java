@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util;
+
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Stream of zip archive compressed on the fly from the given entries, so the archive can be uploaded
+ * without creating temporary file or holding it in memory. Only a small buffer of compressed bytes is kept.
+ * <p>
+ * Entries are opened lazily in the given order and each is closed once completely read.
+ */
+public class ZippingInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Iterator<Map.Entry<String, InputStreamSource>> entries;
+    private final DrainableBuffer buffer = new DrainableBuffer();
+    private final ZipOutputStream zip = new ZipOutputStream(buffer);
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    private InputStream current;
+    private boolean finished;
+
+    /**
+     * @param entries sources of the archive entries keyed by entry name
+     */
+    public ZippingInputStream(final Map<String, ? extends InputStreamSource> entries) {
+        this.entries = new LinkedHashMap<String, InputStreamSource>(notNull(entries, "entries")).entrySet().iterator();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (buffer.isEmpty() && !finished) {
+            compressChunk();
+        }
+        return buffer.isEmpty() ? -1 : buffer.drain(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        } finally {
+            zip.close();
+        }
+    }
+
+    private void compressChunk() throws IOException {
+        if (current == null) {
+            if (!entries.hasNext()) {
+                zip.finish();
+                finished = true;
+                return;
+            }
+            final Map.Entry<String, InputStreamSource> entry = entries.next();
+            current = notNull(entry.getValue().getInputStream(), "entry " + entry.getKey());
+            zip.putNextEntry(new ZipEntry(entry.getKey()));
+        }
+        final int read = current.read(chunk);
+        if (read < 0) {
+            current.close();
+            current = null;
+            zip.closeEntry();
+        } else {
+            zip.write(chunk, 0, read);
+        }
+    }
+
+    private static class DrainableBuffer extends ByteArrayOutputStream {
+        private int position;
+
+        private synchronized boolean isEmpty() {
+            return position == count;
+        }
+
+        private synchronized int drain(final byte[] b, final int off, final int len) {
+            final int drained = Math.min(len, count - position);
+            System.arraycopy(buf, position, b, off, drained);
+            position += drained;
+            if (position == count) {
+                reset();
+                position = 0;
+            }
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class FutureResultTest extends Specification {
+
+    def "should wait for result outside of common pool by default"() {
+        given:
+        FutureResult<String> result = new FutureResult<String>() {
+            boolean isDone() { false }
+            String get() { Thread.currentThread().name }
+            String get(long timeout, TimeUnit unit) { get() }
+            String getPollingUri() { '/gdc/poll' }
+        }
+
+        expect:
+        result.toCompletableFuture().get(10, TimeUnit.SECONDS).startsWith('gooddata-future-')
+    }
+}
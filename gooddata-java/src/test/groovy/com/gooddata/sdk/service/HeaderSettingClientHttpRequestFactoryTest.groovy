@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service
+
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpMethod
+import org.springframework.http.StreamingHttpOutputMessage
+import org.springframework.http.client.ClientHttpRequest
+import org.springframework.http.client.ClientHttpRequestFactory
+import org.springframework.http.client.ClientHttpResponse
+import spock.lang.Specification
+
+class HeaderSettingClientHttpRequestFactoryTest extends Specification {
+
+    ClientHttpRequestFactory delegate = Mock(ClientHttpRequestFactory)
+
+    def "should set headers on execute"() {
+        given:
+        def headers = new HttpHeaders()
+        def response = Mock(ClientHttpResponse) {
+            getHeaders() >> new HttpHeaders()
+        }
+        delegate.createRequest(_, _) >> Mock(ClientHttpRequest) {
+            getHeaders() >> headers
+            execute() >> response
+        }
+        def factory = new HeaderSettingClientHttpRequestFactory(delegate, ['Accept': 'application/json', 'X-GDC-Version': '3'])
+        def request = factory.createRequest(URI.create('/gdc'), HttpMethod.GET)
+        request.headers.set('Accept', 'text/plain')
+
+        when:
+        def result = request.execute()
+
+        then:
+        result.is(response)
+        headers.get('Accept') == ['application/json']
+        headers.getFirst('X-GDC-Version') == '3'
+    }
+
+    def "should set headers before body is written"() {
+        given:
+        def headers = new HttpHeaders()
+        delegate.createRequest(_, _) >> Mock(ClientHttpRequest) {
+            getHeaders() >> headers
+            getBody() >> new ByteArrayOutputStream()
+        }
+        def factory = new HeaderSettingClientHttpRequestFactory(delegate, ['X-GDC-Version': '3'])
+
+        when:
+        factory.createRequest(URI.create('/gdc'), HttpMethod.POST).body
+
+        then:
+        headers.getFirst('X-GDC-Version') == '3'
+    }
+
+    def "should keep streaming request"() {
+        given:
+        delegate.createRequest(_, _) >> Mock(StreamingRequest)
+
+        when:
+        def request = new HeaderSettingClientHttpRequestFactory(delegate, [:])
+                .createRequest(URI.create('/gdc/projects/PROJECT'), HttpMethod.PUT)
+
+        then:
+        request instanceof StreamingHttpOutputMessage
+    }
+
+    def "should fail on null headers"() {
+        when:
+        new HeaderSettingClientHttpRequestFactory(delegate, null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    interface StreamingRequest extends ClientHttpRequest, StreamingHttpOutputMessage {}
+}
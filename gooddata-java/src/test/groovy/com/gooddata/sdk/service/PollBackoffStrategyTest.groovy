@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PollBackoffStrategyTest extends Specification {
+
+    def "should use fixed delay"() {
+        given:
+        def strategy = PollBackoffStrategy.fixed(300)
+
+        expect:
+        (1..5).collect { strategy.getDelay(it) } == [300, 300, 300, 300, 300]
+    }
+
+    def "should back off exponentially up to max delay"() {
+        given:
+        def strategy = PollBackoffStrategy.exponential(100, 2, 1000)
+
+        expect:
+        (1..6).collect { strategy.getDelay(it) } == [100, 200, 400, 800, 1000, 1000]
+    }
+
+    def "should not overflow for many attempts"() {
+        expect:
+        PollBackoffStrategy.exponential(100, 2, 5000).getDelay(Integer.MAX_VALUE) == 5000
+    }
+
+    @Unroll
+    def "should not create exponential strategy #initial #multiplier #max"() {
+        when:
+        PollBackoffStrategy.exponential(initial, multiplier, max)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        initial | multiplier | max
+        -1      | 2          | 10
+        10      | 0.5        | 100
+        100     | 2          | 10
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.bulk
+
+import com.gooddata.sdk.common.GoodDataException
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodData
+import com.gooddata.sdk.service.GoodDataSettings
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class GoodDataBulkExecutorTest extends Specification {
+
+    GoodData gd = Mock(GoodData)
+
+    def "should aggregate results and errors per project"() {
+        given:
+        def projects = (1..10).collect { new Project("project$it", 'token') }
+        def executor = new GoodDataBulkExecutor(gd, 3)
+
+        when:
+        def result = executor.execute(projects) { goodData, project ->
+            assert goodData.is(gd)
+            if (project.title == 'project5') {
+                throw new GoodDataException('failed')
+            }
+            return project.title.toUpperCase()
+        }
+
+        then:
+        result.results*.project == projects
+        result.results*.result == (1..10).collect { it == 5 ? null : "PROJECT$it" }
+        !result.successful
+        result.failedResults*.project == [projects[4]]
+        result.failedResults[0].error.message == 'failed'
+        result.throughput > 0
+        result.duration >= result.averageDuration
+    }
+
+    def "should limit concurrency"() {
+        given:
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def projects = (1..20).collect { new Project("project$it", 'token') }
+
+        when:
+        def result = new GoodDataBulkExecutor(gd, 4).execute(projects) { goodData, project ->
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+            Thread.sleep(10)
+            running.decrementAndGet()
+        }
+
+        then:
+        result.successful
+        maxRunning.get() <= 4
+    }
+
+    def "should use max connections as concurrency"() {
+        given:
+        def settings = new GoodDataSettings()
+        settings.maxConnections = 7
+
+        expect:
+        new GoodDataBulkExecutor(gd, settings).concurrency == 7
+    }
+
+    def "should execute for no projects"() {
+        when:
+        def result = new GoodDataBulkExecutor(gd, 1).execute([]) { goodData, project -> project }
+
+        then:
+        result.results.empty
+        result.successful
+        result.throughput == 0
+    }
+}
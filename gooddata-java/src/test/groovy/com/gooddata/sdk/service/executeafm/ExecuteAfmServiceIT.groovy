@@ -20,6 +20,7 @@ import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
 import com.gooddata.sdk.model.executeafm.response.MeasureGroupHeader
 import com.gooddata.sdk.model.executeafm.response.MeasureHeaderItem
 import com.gooddata.sdk.model.executeafm.response.ResultDimension
+import com.gooddata.sdk.model.executeafm.result.AttributeHeaderItem
 import com.gooddata.sdk.model.executeafm.result.ExecutionResult
 import com.gooddata.sdk.model.executeafm.result.Paging
 import com.gooddata.sdk.model.project.Project
@@ -27,6 +28,8 @@ import com.gooddata.sdk.service.GoodDataITBase
 import spock.lang.Shared
 import spock.lang.Unroll
 
+import java.util.concurrent.TimeUnit
+
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
 import static net.jadler.Jadler.onRequest
@@ -153,6 +156,130 @@ class ExecuteAfmServiceIT extends GoodDataITBase<ExecuteAfmService> {
 
     }
 
+    def "should read execution result"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo(RESULT_QUERY)
+                .respond()
+                .withStatus(202)
+         .thenRespond()
+                .withBody(getClass().getResourceAsStream('/executeafm/result/executionResultFull.json'))
+                .withStatus(200)
+        def rows = []
+        Paging paging = null
+        def visitor = new ExecutionResultVisitor() {
+            @Override
+            void visitRow(int index, double[] values, BitSet nulls) {
+                rows << (values as List)
+            }
+
+            @Override
+            void visitPaging(Paging p) {
+                paging = p
+            }
+        }
+
+        when:
+        service.readResult(response, visitor)
+
+        then:
+        rows == [[-12958511.8099999d, 25315434.8199999d, -2748323.76d, -7252542.67d], [1234d, 5853d, 12340d, 9999d]]
+        paging.count == [2, 4]
+    }
+
+    def "should handle failed result read"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=1%2C0&limit=10%2C10")
+                .respond()
+                .withStatus(410)
+
+        when:
+        service.readResult(response, new ResultPage([1, 0], [10, 10]), Mock(ExecutionResultVisitor))
+
+        then:
+        def ex = thrown(ExecutionResultException)
+        ex ==~ /.*result no longer available.*/
+    }
+
+    def "should time out reading of not computed result"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo(RESULT_QUERY)
+                .respond()
+                .withStatus(202)
+
+        when:
+        service.readResult(response, Mock(ExecutionResultVisitor), 300, TimeUnit.MILLISECONDS)
+
+        then:
+        def ex = thrown(GoodDataException)
+        ex.message == 'timeout'
+    }
+
+    def "should fetch all result pages"() {
+        given:
+        def firstPage = new ExecutionResult([['1', '2'], ['3', '4']] as String[][], new Paging([2, 2], [0, 0], [3, 2]))
+        firstPage.headerItems = [[[new AttributeHeaderItem('a', '/a'), new AttributeHeaderItem('b', '/b')]], [[]]]
+        def secondPage = new ExecutionResult([['5', '6']] as String[][], new Paging([1, 2], [2, 0], [3, 2]))
+        secondPage.headerItems = [[[new AttributeHeaderItem('c', '/c')]], [[]]]
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=0%2C0&limit=2%2C2")
+                .respond()
+                .withStatus(202)
+         .thenRespond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(firstPage))
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=2%2C0&limit=2%2C2")
+                .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(secondPage))
+                .withStatus(200)
+
+        when:
+        ExecutionResult result = service.fetchAll(response, 2, 4)
+
+        then:
+        result.data.collect { it.asList()*.textValue() } == [['1', '2'], ['3', '4'], ['5', '6']]
+        result.headerItems[0][0]*.name == ['a', 'b', 'c']
+        result.paging.count == [3, 2]
+    }
+
+    def "should time out fetching of not computed page"() {
+        given:
+        def firstPage = new ExecutionResult([['1', '2'], ['3', '4']] as String[][], new Paging([2, 2], [0, 0], [3, 2]))
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=0%2C0&limit=2%2C2")
+                .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(firstPage))
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+                .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=2%2C0&limit=2%2C2")
+                .respond()
+                .withStatus(202)
+
+        when:
+        service.fetchAll(response, 2, 4, 300, TimeUnit.MILLISECONDS)
+
+        then:
+        def ex = thrown(GoodDataException)
+        ex.message == 'timeout'
+    }
+
     def "should execute visualization object"() {
         given:
         onRequest()
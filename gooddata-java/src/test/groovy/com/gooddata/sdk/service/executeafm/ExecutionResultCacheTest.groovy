@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.VisualizationExecution
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.FutureResult
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+
+class ExecutionResultCacheTest extends Specification {
+
+    static final Project PROJECT = readObjectFromResource('/project/project.json', Project)
+    static final ExecutionResponse RESPONSE = new ExecutionResponse([], '/gdc/app/projects/PROJECT_ID/executionResults/1')
+
+    ExecuteAfmService service = Mock(ExecuteAfmService) {
+        getResultMapper() >> new ObjectMapper()
+    }
+
+    def "should serve repeated execution from cache"() {
+        given:
+        def cache = new ExecutionResultCache(service, 1_000_000, 1, TimeUnit.HOURS)
+
+        when:
+        def first = cache.getResult(PROJECT, execution('a')).get()
+
+        then:
+        1 * service.executeAfm(PROJECT, _) >> RESPONSE
+        1 * service.getResult(RESPONSE) >> futureResult(result('1'))
+        first.data[0].textValue() == '1'
+
+        when:
+        def second = cache.getResult(PROJECT, execution('a'))
+
+        then:
+        0 * service._
+        second.done
+        second.get().data[0].textValue() == '1'
+        second.pollingUri == 'uri'
+        !second.get().is(first)
+    }
+
+    def "should cache visualization execution"() {
+        given:
+        def cache = new ExecutionResultCache(service, 1_000_000, 1, TimeUnit.HOURS)
+        def execution = new VisualizationExecution('/gdc/md/PROJECT_ID/obj/1')
+
+        when:
+        cache.getResult(PROJECT, execution).toCompletableFuture().get()
+        def cached = cache.getResult(PROJECT, execution).get()
+
+        then:
+        1 * service.executeVisualization(PROJECT, execution) >> RESPONSE
+        1 * service.getResult(RESPONSE) >> futureResult(result('2'))
+        cached.data[0].textValue() == '2'
+    }
+
+    def "should not cache until result is retrieved"() {
+        given:
+        def cache = new ExecutionResultCache(service, 1_000_000, 1, TimeUnit.HOURS)
+
+        when:
+        cache.getResult(PROJECT, execution('a'))
+        cache.getResult(PROJECT, execution('a'))
+
+        then:
+        2 * service.executeAfm(PROJECT, _) >> RESPONSE
+        2 * service.getResult(RESPONSE) >> futureResult(result('1'))
+    }
+
+    def "should evict least recently used result"() {
+        given:
+        def size = new ObjectMapper().writeValueAsBytes(result('1')).length
+        def cache = new ExecutionResultCache(service, size * 2, 1, TimeUnit.HOURS)
+        service.executeAfm(*_) >> RESPONSE
+        service.getResult(RESPONSE) >> futureResult(result('1'))
+
+        when:
+        cache.getResult(PROJECT, execution('a')).get()
+        cache.getResult(PROJECT, execution('b')).get()
+        cache.getResult(PROJECT, execution('a')).get()
+        cache.getResult(PROJECT, execution('c')).get()
+
+        then:
+        cache.getResult(PROJECT, execution('a')).done
+        !cache.getResult(PROJECT, execution('b')).done
+    }
+
+    def "should expire result"() {
+        given:
+        def cache = new ExecutionResultCache(service, 1_000_000, 50, TimeUnit.MILLISECONDS)
+
+        when:
+        cache.getResult(PROJECT, execution('a')).get()
+        sleep(100)
+        cache.getResult(PROJECT, execution('a')).get()
+
+        then:
+        2 * service.executeAfm(PROJECT, _) >> RESPONSE
+        2 * service.getResult(RESPONSE) >> futureResult(result('1'))
+    }
+
+    def "should clear cache"() {
+        given:
+        def cache = new ExecutionResultCache(service, 1_000_000, 1, TimeUnit.HOURS)
+
+        when:
+        cache.getResult(PROJECT, execution('a')).get()
+        cache.clear()
+        cache.getResult(PROJECT, execution('a')).get()
+
+        then:
+        2 * service.executeAfm(PROJECT, _) >> RESPONSE
+        2 * service.getResult(RESPONSE) >> futureResult(result('1'))
+    }
+
+    def "should compute canonical key"() {
+        expect:
+        ExecutionResultCache.key(PROJECT, execution('a')) == ExecutionResultCache.key(PROJECT, execution('a'))
+        ExecutionResultCache.key(PROJECT, execution('a')) != ExecutionResultCache.key(PROJECT, execution('b'))
+        ExecutionResultCache.key(PROJECT, execution('a')).startsWith("${PROJECT.id}-")
+    }
+
+    @Unroll
+    def "should store values #name"() {
+        when:
+        store.put('project-key', [1, 2, 3] as byte[])
+
+        then:
+        store.get('project-key') == [1, 2, 3] as byte[]
+        store.get('other') == null
+
+        when:
+        store.remove('project-key')
+
+        then:
+        store.get('project-key') == null
+
+        where:
+        name        | store
+        'on heap'   | ExecutionResultStore.onHeap()
+        'off heap'  | ExecutionResultStore.offHeap()
+        'directory' | ExecutionResultStore.directory(Files.createTempDirectory('results'))
+    }
+
+    def "should remove stale values of directory"() {
+        given:
+        def directory = Files.createTempDirectory('results')
+        ExecutionResultStore.directory(directory).put('project-key', [1] as byte[])
+        Files.createTempFile(directory, 'result', '.tmp')
+        def other = Files.createFile(directory.resolve('other.txt'))
+
+        when:
+        def store = ExecutionResultStore.directory(directory)
+
+        then:
+        store.get('project-key') == null
+        Files.list(directory).collect { it } == [other]
+    }
+
+    private static Execution execution(String localIdentifier) {
+        new Execution(new Afm().addAttribute(new AttributeItem(new UriObjQualifier('/gdc/md/PROJECT_ID/obj/1'), localIdentifier)))
+    }
+
+    private static ExecutionResult result(String value) {
+        new ExecutionResult([value] as String[], new Paging([1], [0], [1]))
+    }
+
+    private FutureResult<ExecutionResult> futureResult(ExecutionResult result) {
+        Stub(FutureResult) {
+            get() >> result
+            getPollingUri() >> 'uri'
+            toCompletableFuture() >> CompletableFuture.completedFuture(result)
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.fasterxml.jackson.core.JsonParseException
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.gooddata.sdk.model.executeafm.result.AttributeHeaderItem
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.executeafm.result.ResultHeaderItem
+import com.gooddata.sdk.model.executeafm.result.Warning
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ExecutionResultReaderTest extends Specification {
+
+    ExecutionResultReader reader = new ExecutionResultReader(new ObjectMapper())
+
+    def "should read full result"() {
+        given:
+        def visitor = new CollectingVisitor()
+
+        when:
+        reader.read(getClass().getResourceAsStream('/executeafm/result/executionResultFull.json'), visitor)
+
+        then:
+        visitor.rows == [[-12958511.8099999d, 25315434.8199999d, -2748323.76d, -7252542.67d],
+                         [1234d, 5853d, 12340d, 9999d]]
+        visitor.nulls == [[], []]
+        visitor.paging.total == [2, 4]
+        visitor.headerItems[0][0][1] instanceof AttributeHeaderItem
+        visitor.headerItems[0][0][1].name == 'Employee2'
+        visitor.totals == [[['25']], [['38']]]
+        visitor.totalTotals == [[['43']]]
+        visitor.warnings*.warningCode == ['gdc123']
+    }
+
+    @Unroll
+    def "should read data #data"() {
+        given:
+        def visitor = new CollectingVisitor()
+
+        when:
+        reader.read(new ByteArrayInputStream("{\"executionResult\":{\"data\":$data}}".bytes), visitor)
+
+        then:
+        visitor.rows.collect { it.collect { Double.isNaN(it) ? null : it } } == rows
+        visitor.nulls == nulls
+
+        where:
+        data                          | rows                      | nulls
+        '[]'                          | []                        | []
+        'null'                        | []                        | []
+        '["1", null, 2.5]'            | [[1d, null, 2.5d]]        | [[1]]
+        '[["1", "2"], [null, "3e2"]]' | [[1d, 2d], [null, 300d]]  | [[], [0]]
+        '[["1"], ["2", "3"], []]'     | [[1d], [2d, 3d], []]      | [[], [], []]
+        '[null, ["1", "2"]]'          | [[], [1d, 2d]]            | [[], []]
+        '[null, null, "1"]'           | [[null, null, 1d]]        | [[0, 1]]
+        '[null]'                      | [[null]]                  | [[0]]
+    }
+
+    def "should ignore empty body"() {
+        given:
+        def visitor = Mock(ExecutionResultVisitor)
+
+        when:
+        reader.read(new ByteArrayInputStream(new byte[0]), visitor)
+
+        then:
+        0 * visitor._
+    }
+
+    @Unroll
+    def "should fail on invalid #json"() {
+        when:
+        reader.read(new ByteArrayInputStream(json.bytes), Mock(ExecutionResultVisitor))
+
+        then:
+        thrown(JsonParseException)
+
+        where:
+        json << ['{"foo":{}}', '[]', '{"executionResult":{"data":["abc"]}}', '{"executionResult":{"data":[{}]}}']
+    }
+
+    static class CollectingVisitor implements ExecutionResultVisitor {
+        List<List<Double>> rows = []
+        List<List<Integer>> nulls = []
+        Paging paging
+        List<List<List<ResultHeaderItem>>> headerItems
+        List<List<List<String>>> totals
+        List<List<List<String>>> totalTotals
+        List<Warning> warnings
+
+        @Override
+        void visitRow(int index, double[] values, BitSet nulls) {
+            assert index == rows.size()
+            rows << (values as List)
+            this.nulls << nulls.stream().toArray().toList()
+        }
+
+        @Override
+        void visitPaging(Paging paging) {
+            this.paging = paging
+        }
+
+        @Override
+        void visitHeaderItems(List<List<List<ResultHeaderItem>>> headerItems) {
+            this.headerItems = headerItems
+        }
+
+        @Override
+        void visitTotals(List<List<List<String>>> totals) {
+            this.totals = totals
+        }
+
+        @Override
+        void visitTotalTotals(List<List<List<String>>> totalTotals) {
+            this.totalTotals = totalTotals
+        }
+
+        @Override
+        void visitWarnings(List<Warning> warnings) {
+            this.warnings = warnings
+        }
+    }
+}
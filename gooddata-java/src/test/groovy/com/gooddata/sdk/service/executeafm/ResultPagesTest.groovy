@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.model.executeafm.result.AttributeHeaderItem
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import spock.lang.Specification
+
+class ResultPagesTest extends Specification {
+
+    def "should compute pages of two dimensional result"() {
+        when:
+        ResultPages pages = new ResultPages(page([['1']], [[['r0']], [['c0']]], [3, 5]), 2)
+
+        then:
+        pages.size() == 6
+        (0..5).collect { pages.getPage(it).offsetsQueryParam } ==
+                ['0%2C0', '0%2C2', '0%2C4', '2%2C0', '2%2C2', '2%2C4']
+        pages.getPage(4).limitsQueryParam == '2%2C2'
+    }
+
+    def "should compute pages of single dimensional result"() {
+        when:
+        ResultPages pages = new ResultPages(page(['1'] as String[], [[['r0']]], [5]), 2)
+
+        then:
+        pages.size() == 3
+        (0..2).collect { pages.getPage(it).offsetsQueryParam } == ['0', '2', '4']
+    }
+
+    def "should have single page for empty result"() {
+        expect:
+        new ResultPages(page([] as String[][], [[[]], [[]]], [0, 0]), 10).size() == 1
+    }
+
+    def "should stitch two dimensional result"() {
+        given:
+        ResultPages pages = new ResultPages(
+                page([['1', '2'], ['4', '5']], [[['r0', 'r1']], [['c0', 'c1']]], [3, 3], [[['t0', 't1']], [['u0', 'u1']]]),
+                2)
+        pages.set(1, page([['3'], ['6']], [[['r0', 'r1']], [['c2']]], [3, 3], [[['t2']], [['u0', 'u1']]]))
+        pages.set(2, page([['7', '8']], [[['r2']], [['c0', 'c1']]], [3, 3], [[['t0', 't1']], [['u2']]]))
+        pages.set(3, page([['9']], [[['r2']], [['c2']]], [3, 3], [[['t2']], [['u2']]]))
+
+        when:
+        ExecutionResult result = pages.stitch()
+
+        then:
+        result.data.collect { it.asList()*.textValue() } == [['1', '2', '3'], ['4', '5', '6'], ['7', '8', '9']]
+        result.headerItems.collect { it.collect { it*.name } } == [[['r0', 'r1', 'r2']], [['c0', 'c1', 'c2']]]
+        result.totals == [[['t0', 't1', 't2']], [['u0', 'u1', 'u2']]]
+        result.totalTotals == [[['tt']]]
+        result.paging.count == [3, 3]
+        result.paging.offset == [0, 0]
+        result.paging.total == [3, 3]
+    }
+
+    def "should stitch single dimensional result"() {
+        given:
+        ResultPages pages = new ResultPages(page(['1', '2'] as String[], [[['r0', 'r1']]], [3]), 2)
+        pages.set(1, page(['3'] as String[], [[['r2']]], [3]))
+
+        when:
+        ExecutionResult result = pages.stitch()
+
+        then:
+        result.data*.textValue() == ['1', '2', '3']
+        result.headerItems.collect { it.collect { it*.name } } == [[['r0', 'r1', 'r2']]]
+        result.totals == null
+    }
+
+    private static ExecutionResult page(def data, List<List<List<String>>> headers, List<Integer> total,
+                                        List<List<List<String>>> totals = null) {
+        def result = data instanceof String[]
+                ? new ExecutionResult(data as String[], new Paging(total, total.collect { 0 }, total))
+                : new ExecutionResult(data as String[][], new Paging(total, total.collect { 0 }, total))
+        result.headerItems = headers.collect { it.collect { it.collect { new AttributeHeaderItem(it, "/$it") } } }
+        result.totals = totals
+        result.totalTotals = [[['tt']]]
+        result
+    }
+}
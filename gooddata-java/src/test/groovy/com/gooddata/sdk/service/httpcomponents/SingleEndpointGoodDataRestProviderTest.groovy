@@ -7,8 +7,10 @@ package com.gooddata.sdk.service.httpcomponents
 
 import com.gooddata.sdk.service.GoodDataEndpoint
 import com.gooddata.sdk.service.GoodDataSettings
+import com.gooddata.sdk.service.HeaderSettingClientHttpRequestFactory
 import com.gooddata.sdk.service.gdc.DataStoreService
 import org.apache.http.client.HttpClient
+import org.springframework.http.client.InterceptingClientHttpRequestFactory
 import spock.lang.Specification
 
 class SingleEndpointGoodDataRestProviderTest extends Specification {
@@ -35,4 +37,14 @@ class SingleEndpointGoodDataRestProviderTest extends Specification {
         then:
         dataStoreService.isPresent()
     }
+
+    def "should not buffer requests by interceptors"() {
+        when:
+        def provider = new SingleEndpointGoodDataRestProvider(new GoodDataEndpoint(), new GoodDataSettings(), Stub(GoodDataHttpClientBuilder)) {}
+
+        then:
+        provider.restTemplate.interceptors.empty
+        !(provider.restTemplate.requestFactory instanceof InterceptingClientHttpRequestFactory)
+        provider.restTemplate.requestFactory instanceof HeaderSettingClientHttpRequestFactory
+    }
 }
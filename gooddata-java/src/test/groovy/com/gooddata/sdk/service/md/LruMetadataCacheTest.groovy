@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class LruMetadataCacheTest extends Specification {
+
+    def "should cache object with validators"() {
+        given:
+        def cache = new LruMetadataCache(10, 1, TimeUnit.HOURS)
+
+        when:
+        cache.put('/obj/1', '{}', '"tag"', 'Wed, 21 Oct 2015 07:28:00 GMT')
+        def cached = cache.get('/obj/1')
+
+        then:
+        cached.body == '{}'
+        cached.ETag == '"tag"'
+        cached.lastModified == 'Wed, 21 Oct 2015 07:28:00 GMT'
+        cached.revalidable
+        !cached.expired
+        cache.get('/obj/2') == null
+    }
+
+    def "should expire object"() {
+        given:
+        def cache = new LruMetadataCache(10, 0, TimeUnit.MILLISECONDS)
+
+        when:
+        cache.put('/obj/1', '{}', null, null)
+
+        then:
+        cache.get('/obj/1').expired
+        !cache.get('/obj/1').revalidable
+    }
+
+    def "should evict least recently used object"() {
+        given:
+        def cache = new LruMetadataCache(2, 1, TimeUnit.HOURS)
+
+        when:
+        cache.put('/obj/1', '{}', null, null)
+        cache.put('/obj/2', '{}', null, null)
+        cache.get('/obj/1')
+        cache.put('/obj/3', '{}', null, null)
+
+        then:
+        cache.get('/obj/1') != null
+        cache.get('/obj/2') == null
+        cache.get('/obj/3') != null
+    }
+
+    def "should invalidate objects"() {
+        given:
+        def cache = MetadataCache.lru(10, 1, TimeUnit.HOURS)
+        cache.put('/obj/1', '{}', null, null)
+        cache.put('/obj/2', '{}', null, null)
+
+        when:
+        cache.remove('/obj/1')
+
+        then:
+        cache.get('/obj/1') == null
+        cache.get('/obj/2') != null
+
+        when:
+        cache.clear()
+
+        then:
+        cache.get('/obj/2') == null
+    }
+
+    def "should reject invalid size"() {
+        when:
+        new LruMetadataCache(0, 1, TimeUnit.HOURS)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
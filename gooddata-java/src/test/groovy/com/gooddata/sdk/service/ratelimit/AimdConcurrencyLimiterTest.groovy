@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit
+
+import spock.lang.Specification
+
+class AimdConcurrencyLimiterTest extends Specification {
+
+    def "should grow limit additively on success"() {
+        given:
+        def limiter = new AimdConcurrencyLimiter(2, 1, 3, 0.5)
+
+        when:
+        4.times {
+            limiter.acquire()
+            limiter.onSuccess()
+        }
+
+        then:
+        limiter.limit == 3
+        limiter.inFlight == 0
+    }
+
+    def "should shrink limit multiplicatively on overload"() {
+        given:
+        def limiter = new AimdConcurrencyLimiter(8, 2, 8, 0.5)
+
+        when:
+        limiter.acquire()
+        limiter.onOverload()
+
+        then:
+        limiter.limit == 4
+
+        when:
+        2.times {
+            limiter.acquire()
+            limiter.onOverload()
+        }
+
+        then:
+        limiter.limit == 2
+    }
+
+    def "should keep limit on ignored outcome"() {
+        given:
+        def limiter = new AimdConcurrencyLimiter(2, 1, 4, 0.5)
+
+        when:
+        limiter.acquire()
+        limiter.onIgnore()
+
+        then:
+        limiter.limit == 2
+        limiter.inFlight == 0
+    }
+
+    def "should wait for released permit"() {
+        given:
+        def limiter = new AimdConcurrencyLimiter(1, 1, 1, 0.5)
+        limiter.acquire()
+        def acquired = false
+        def thread = Thread.start {
+            limiter.acquire()
+            acquired = true
+        }
+
+        when:
+        thread.join(100)
+
+        then:
+        !acquired
+
+        when:
+        limiter.onSuccess()
+        thread.join(1000)
+
+        then:
+        acquired
+        limiter.inFlight == 1
+    }
+
+    def "should fail on invalid limits"() {
+        when:
+        new AimdConcurrencyLimiter(5, 1, 4, 0.5)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit
+
+import org.springframework.http.HttpMethod
+import org.springframework.http.StreamingHttpOutputMessage
+import org.springframework.http.client.ClientHttpRequest
+import org.springframework.http.client.ClientHttpRequestFactory
+import org.springframework.http.client.ClientHttpResponse
+import spock.lang.Specification
+
+class RateLimitingClientHttpRequestFactoryTest extends Specification {
+
+    ClientHttpRequestFactory delegate = Mock(ClientHttpRequestFactory)
+
+    def "should not limit unmatched requests"() {
+        given:
+        def request = Mock(ClientHttpRequest)
+        delegate.createRequest(_, _) >> request
+        def factory = new RateLimitingClientHttpRequestFactory(delegate, settings(RateLimitSettings.METADATA, 1))
+
+        expect:
+        factory.createRequest(URI.create('/gdc/account/profile/current'), HttpMethod.GET).is(request)
+    }
+
+    def "should limit concurrency until response is closed"() {
+        given:
+        def response = Mock(ClientHttpResponse) {
+            getRawStatusCode() >> 200
+        }
+        delegate.createRequest(_, _) >> Mock(ClientHttpRequest) {
+            execute() >> response
+        }
+        def factory = new RateLimitingClientHttpRequestFactory(delegate, settings(RateLimitSettings.METADATA, 1))
+        def first = factory.createRequest(URI.create('/gdc/md/PROJECT/obj/1'), HttpMethod.GET).execute()
+        def second = null
+        def thread = Thread.start {
+            second = factory.createRequest(URI.create('/gdc/md/PROJECT/obj/2'), HttpMethod.GET).execute()
+        }
+
+        when:
+        thread.join(100)
+
+        then:
+        second == null
+
+        when:
+        first.close()
+        thread.join(1000)
+
+        then:
+        second != null
+    }
+
+    def "should shrink concurrency on too many requests"() {
+        given:
+        def limit = new RequestLimit(maxConcurrency: 10, backoffRatio: 0.5)
+        def rateLimitSettings = new RateLimitSettings()
+        rateLimitSettings.setLimit(RateLimitSettings.EXECUTE_AFM, limit)
+        delegate.createRequest(_, _) >> Mock(ClientHttpRequest) {
+            execute() >> Mock(ClientHttpResponse) {
+                getRawStatusCode() >>> [429, 503]
+            }
+        }
+        def factory = new RateLimitingClientHttpRequestFactory(delegate, rateLimitSettings)
+
+        when:
+        factory.createRequest(URI.create('/gdc/app/projects/PROJECT/executeAfm'), HttpMethod.POST).execute().close()
+        factory.createRequest(URI.create('/gdc/app/projects/PROJECT/executionResults/1'), HttpMethod.GET).execute().close()
+
+        then:
+        factory.limiters[RateLimitSettings.EXECUTE_AFM].concurrencyLimiter.limit == 2
+    }
+
+    def "should keep streaming request"() {
+        given:
+        delegate.createRequest(_, _) >> Mock(StreamingRequest)
+
+        when:
+        def request = new RateLimitingClientHttpRequestFactory(delegate, settings(RateLimitSettings.PROJECTS, 1))
+                .createRequest(URI.create('/gdc/projects/PROJECT'), HttpMethod.PUT)
+
+        then:
+        request instanceof StreamingHttpOutputMessage
+    }
+
+    private static RateLimitSettings settings(String pattern, int maxConcurrency) {
+        def settings = new RateLimitSettings()
+        settings.setLimit(pattern, new RequestLimit(maxConcurrency: maxConcurrency))
+        return settings
+    }
+
+    interface StreamingRequest extends ClientHttpRequest, StreamingHttpOutputMessage {}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.ratelimit
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class TokenBucketRateLimiterTest extends Specification {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1)
+
+    def "should allow burst and then wait for refill"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(2, 2)
+        def now = System.nanoTime() + SECOND
+
+        expect:
+        limiter.reserve(now) == 0
+        limiter.reserve(now) == 0
+        limiter.reserve(now) == SECOND / 2
+        limiter.reserve(now) == SECOND
+    }
+
+    def "should refill up to burst"() {
+        given:
+        def limiter = new TokenBucketRateLimiter(10, 1)
+        def now = System.nanoTime() + SECOND
+
+        when:
+        limiter.reserve(now)
+
+        then:
+        limiter.reserve(now + 10 * SECOND) == 0
+        limiter.reserve(now + 10 * SECOND) == SECOND / 10
+    }
+
+    def "should fail on invalid rate"() {
+        when:
+        new TokenBucketRateLimiter(0, 1)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
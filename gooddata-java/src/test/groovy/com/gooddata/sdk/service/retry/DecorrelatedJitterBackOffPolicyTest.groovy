@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class DecorrelatedJitterBackOffPolicyTest extends Specification {
+
+    private final DecorrelatedJitterBackOffPolicy policy = new DecorrelatedJitterBackOffPolicy(100, 1000, 3)
+
+    @Unroll
+    def "should compute interval #next from #previous and #random"() {
+        expect:
+        policy.nextInterval(previous, random) == next
+
+        where:
+        previous | random | next
+        100      | 0      | 100
+        100      | 0.5    | 200
+        200      | 0.5    | 350
+        500      | 0.99   | 991
+        1000     | 0.5    | 550
+    }
+
+    def "should sleep growing random intervals"() {
+        given:
+        def intervals = []
+        policy.sleeper = { intervals << it }
+        def context = policy.start(null)
+
+        when:
+        5.times { policy.backOff(context) }
+
+        then:
+        intervals.size() == 5
+        intervals.every { it >= 100 && it <= 1000 }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class IdempotentRequestRetryStrategyTest extends Specification {
+
+    private final IdempotentRequestRetryStrategy strategy =
+            new IdempotentRequestRetryStrategy(new RetrySettings().idempotentRequests)
+
+    @Unroll
+    def "should #allowed retry #method #path on #status"() {
+        expect:
+        strategy.retryAllowed(method, status, URI.create(path)) == retry
+
+        where:
+        method   | path                                           | status | retry
+        'GET'    | '/gdc/projects/PROJECT_ID'                     | 500    | true
+        'GET'    | '/gdc/projects/PROJECT_ID'                     | 501    | false
+        'GET'    | '/gdc/projects/PROJECT_ID'                     | 429    | true
+        'POST'   | '/gdc/md/PROJECT_ID/objects/get'               | 503    | true
+        'POST'   | '/gdc/md/PROJECT_ID/usedby2'                   | 502    | true
+        'POST'   | '/gdc/md/PROJECT_ID/identifiers'               | 504    | true
+        'POST'   | '/gdc/app/projects/PROJECT_ID/executeAfm'      | 500    | true
+        'POST'   | '/gdc/projects'                                | 500    | false
+        'POST'   | '/gdc/projects'                                | 429    | true
+        'PUT'    | '/gdc/md/PROJECT_ID/objects/get'               | 500    | false
+        'DELETE' | '/gdc/projects/PROJECT_ID'                     | 500    | false
+        allowed = retry ? '' : 'not'
+    }
+
+    def "should retry only idempotent requests on I/O error"() {
+        expect:
+        strategy.retryAllowedOnIoError('GET', URI.create('/gdc/projects/PROJECT_ID'))
+        strategy.retryAllowedOnIoError('POST', URI.create('/gdc/md/PROJECT_ID/objects/get'))
+        !strategy.retryAllowedOnIoError('POST', URI.create('/gdc/projects'))
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.retry
+
+import spock.lang.Specification
+
+class RetryBudgetTest extends Specification {
+
+    def "should limit retries to ratio of requests"() {
+        given:
+        def budget = new RetryBudget(0.5, 2)
+
+        expect: 'full budget initially'
+        budget.tryRetry()
+        budget.tryRetry()
+        !budget.tryRetry()
+
+        when:
+        budget.onRequest()
+
+        then:
+        !budget.tryRetry()
+
+        when:
+        budget.onRequest()
+
+        then:
+        budget.tryRetry()
+        !budget.tryRetry()
+    }
+
+    def "should not exceed capacity"() {
+        given:
+        def budget = new RetryBudget(1, 1)
+
+        when:
+        10.times { budget.onRequest() }
+
+        then:
+        budget.tryRetry()
+        !budget.tryRetry()
+    }
+}
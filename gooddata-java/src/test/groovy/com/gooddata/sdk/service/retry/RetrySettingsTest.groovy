@@ -45,6 +45,27 @@ class RetrySettingsTest extends Specification {
         1.1   | true    | "RetryMultiplier"
         0.9   | false   | "RetryMultiplier"
         10    | true    | "RetryMultiplier"
+         0    | false   | "RetryBudgetRatio"
+        0.1   | true    | "RetryBudgetRatio"
+         0    | false   | "RetryBudgetCapacity"
+         5    | true    | "RetryBudgetCapacity"
+        null  | true    | "RetryBudgetRatio"
+        null  | true    | "RetryBudgetCapacity"
     }
 
+    def "should not apply retry budget by default"() {
+        expect:
+        retrySettings.retryBudgetRatio == 0.1d
+        retrySettings.retryBudgetCapacity == null
+    }
+
+    def "should add idempotent request"() {
+        when:
+        retrySettings.addIdempotentRequest('put', '/gdc/projects/{projectId}/dashboards')
+
+        then:
+        retrySettings.idempotentRequests['PUT'] == ['/gdc/projects/{projectId}/dashboards'] as Set
+        retrySettings.idempotentRequests['POST'].contains('/gdc/md/{projectId}/objects/get')
+        retrySettings.idempotentRequests['POST'].contains('/gdc/app/projects/{projectId}/executeAfm')
+    }
 }
@@ -137,6 +137,29 @@ class RetryableRestTemplateTest extends GoodDataITBase<ConnectorService> {
         "PUT"    | 501                 | false            | GoodDataRestException | MIN_NO_RETRY_DURATION | MAX_NO_RETRY_DURATION
     }
 
+    def "should retry too many requests after Retry-After"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo("/gdc/projects/PROJECT_ID/connectors/zendesk4/integration")
+                .respond()
+                    .withStatus(429)
+                    .withHeader("Retry-After", "2")
+                .thenRespond()
+                    .withBody(readFromResource("/connector/integration.json"))
+
+        when:
+        def startTime = System.currentTimeMillis()
+        def project = readObjectFromResource("/project/project.json", Project.class)
+        def integration = getService().createIntegration(project, ConnectorType.ZENDESK4, new Integration("/some/template"))
+        def length = System.currentTimeMillis() - startTime
+
+        then:
+        integration != null
+        length >= 2000
+        length < MAX_RETRY_DURATION
+    }
+
     void cleanup() {
         closeJadler()
     }
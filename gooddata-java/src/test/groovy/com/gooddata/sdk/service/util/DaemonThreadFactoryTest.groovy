@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util
+
+import spock.lang.Specification
+
+class DaemonThreadFactoryTest extends Specification {
+
+    def "should create named daemon threads"() {
+        given:
+        def factory = new DaemonThreadFactory('gooddata-test')
+
+        when:
+        def first = factory.newThread({})
+        def second = factory.newThread({})
+
+        then:
+        first.name == 'gooddata-test-1'
+        second.name == 'gooddata-test-2'
+        first.daemon
+        second.daemon
+    }
+
+    def "should fail on empty prefix"() {
+        when:
+        new DaemonThreadFactory('')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
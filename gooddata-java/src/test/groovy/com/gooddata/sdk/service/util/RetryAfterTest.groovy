@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util
+
+import org.springframework.http.HttpHeaders
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+
+class RetryAfterTest extends Specification {
+
+    static final Clock CLOCK = Clock.fixed(Instant.parse('2020-01-01T10:00:00Z'), ZoneOffset.UTC)
+
+    @Unroll
+    def "should parse '#value' as #expected"() {
+        expect:
+        RetryAfter.getDelay(value, CLOCK) == expected
+
+        where:
+        value                           | expected
+        '3'                             | OptionalLong.of(3000)
+        ' 0 '                           | OptionalLong.of(0)
+        '-5'                            | OptionalLong.of(0)
+        'Wed, 01 Jan 2020 10:00:05 GMT' | OptionalLong.of(5000)
+        'Wed, 01 Jan 2020 09:00:00 GMT' | OptionalLong.of(0)
+        'Wed, 01 Jan 2020 12:00:00 GMT' | OptionalLong.of(RetryAfter.DEFAULT_MAX_DELAY)
+        '9223372036854775807'           | OptionalLong.of(RetryAfter.DEFAULT_MAX_DELAY)
+        '99999999999999999999'          | OptionalLong.of(RetryAfter.DEFAULT_MAX_DELAY)
+        'soon'                          | OptionalLong.empty()
+        ''                              | OptionalLong.empty()
+        null                            | OptionalLong.empty()
+    }
+
+    def "should limit delay by given maximum"() {
+        expect:
+        RetryAfter.getDelay('30', CLOCK, 5000) == OptionalLong.of(5000)
+        RetryAfter.getDelay('3', CLOCK, 5000) == OptionalLong.of(3000)
+    }
+
+    def "should read header"() {
+        given:
+        def headers = new HttpHeaders()
+        headers.set(RetryAfter.HEADER, '2')
+
+        expect:
+        RetryAfter.getDelay(headers) == OptionalLong.of(2000)
+        RetryAfter.getDelay(new HttpHeaders()) == OptionalLong.empty()
+        RetryAfter.getDelay(null as HttpHeaders) == OptionalLong.empty()
+    }
+}
@@ -17,9 +17,13 @@ import org.springframework.web.client.RestTemplate;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -54,4 +58,26 @@ public class AbstractServiceTest {
         PollHandler<?, ?> handler = mock(PollHandler.class);
         service.poll(handler, 5, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void pollAsyncShouldCompleteWithHandlerResult() throws Exception {
+        @SuppressWarnings("unchecked")
+        final PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(true);
+        when(handler.getResult()).thenReturn("result");
+
+        final CompletableFuture<String> future = service.pollAsync(handler, 0, null);
+
+        assertThat(future.get(5, TimeUnit.SECONDS), is("result"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "handled")
+    public void pollShouldRethrowHandlerException() throws Exception {
+        final PollHandler<?, ?> handler = mock(PollHandler.class);
+        when(handler.isFinished(any(ClientHttpResponse.class))).thenReturn(true);
+        when(handler.getPollClass()).thenReturn((Class) Void.class);
+        doThrow(new IllegalStateException("handled")).when(handler).handlePollResult(any());
+
+        service.poll(handler, 5, TimeUnit.SECONDS);
+    }
 }
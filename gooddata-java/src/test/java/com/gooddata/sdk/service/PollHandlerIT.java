@@ -5,12 +5,17 @@
  */
 package com.gooddata.sdk.service;
 
+import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
 import org.springframework.web.client.RestTemplate;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static net.jadler.Jadler.onRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 
 public class PollHandlerIT extends AbstractGoodDataIT {
 
@@ -32,6 +37,23 @@ public class PollHandlerIT extends AbstractGoodDataIT {
             .respond()
                 .withStatus(200)
         ;
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(PATH)
+                .havingParameterEqualTo(PARAM, "running")
+            .respond()
+                .withStatus(202)
+        ;
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(PATH)
+                .havingParameterEqualTo(PARAM, "later")
+            .respond()
+                .withStatus(202)
+                .withHeader("Retry-After", "0")
+            .thenRespond()
+                .withStatus(200)
+        ;
     }
 
     @Test
@@ -39,6 +61,29 @@ public class PollHandlerIT extends AbstractGoodDataIT {
         service.test(URI).get();
     }
 
+    @Test
+    public void shouldCompleteFutureByPolling() throws Exception {
+        final FutureResult<Void> result = service.test(URI);
+        result.toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(result.isDone(), is(true));
+        assertThat(result.toCompletableFuture().isDone(), is(true));
+    }
+
+    @Test
+    public void shouldHonourRetryAfter() throws Exception {
+        // default poll sleep is 5 seconds, the server asks to poll again immediately
+        service.test(PATH + "?" + PARAM + "=later").get(2, TimeUnit.SECONDS);
+    }
+
+    @Test(expectedExceptions = GoodDataException.class, expectedExceptionsMessageRegExp = ".*cancelled.*")
+    public void shouldStopPollingWhenCancelled() throws Exception {
+        final FutureResult<Void> result = service.test(PATH + "?" + PARAM + "=running");
+        result.toCompletableFuture().cancel(false);
+
+        result.get();
+    }
+
     private static class PollingService extends AbstractService {
 
         private PollingService(final RestTemplate restTemplate) {
@@ -5,6 +5,7 @@
  */
 package com.gooddata.sdk.service.dataload.processes;
 
+import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.collections.Page;
 import com.gooddata.sdk.model.dataload.processes.DataloadProcess;
 import com.gooddata.sdk.model.dataload.processes.ProcessExecution;
@@ -16,24 +17,35 @@ import com.gooddata.sdk.model.dataload.processes.ScheduleState;
 import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.AbstractGoodDataIT;
 import com.gooddata.sdk.service.FutureResult;
+import com.gooddata.sdk.service.bulk.BulkResult;
+import org.apache.commons.io.IOUtils;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collection;
+import java.util.Random;
 
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static java.util.Arrays.asList;
 import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
 import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.Is.is;
+import static org.testng.Assert.fail;
 
 public class ProcessServiceIT extends AbstractGoodDataIT {
 
@@ -82,6 +94,102 @@ public class ProcessServiceIT extends AbstractGoodDataIT {
         assertThat(process.getExecutables(), contains("test.groovy"));
     }
 
+    @Test
+    public void shouldDeleteUploadedDataOfLargeProcess() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/gdc")
+            .respond()
+                .withBody(readFromResource("/gdc/gdc.json"));
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPath(startsWith("/uploads/"))
+            .respond()
+                .withStatus(201);
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPath(startsWith("/uploads/"))
+            .respond()
+                .withStatus(204);
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(PROCESSES_PATH)
+            .respond()
+                .withStatus(500);
+
+        final File largeFile = File.createTempFile("large", ".groovy");
+        try {
+            final byte[] data = new byte[2 * 1024 * 1024];
+            new Random(42).nextBytes(data);
+            Files.write(largeFile.toPath(), data);
+
+            gd.getProcessService().createProcess(project, new DataloadProcess("testProcess", "GROOVY"), largeFile);
+            fail("process creation should fail");
+        } catch (GoodDataException e) {
+            verifyThatRequest().havingMethodEqualTo("POST")
+                    .havingBody(containsString("\"path\":\"/uploads/process")).receivedOnce();
+            verifyThatRequest().havingMethodEqualTo("DELETE").havingPath(startsWith("/uploads/process")).receivedOnce();
+        } finally {
+            largeFile.delete();
+        }
+    }
+
+    @Test
+    public void shouldDeployProcesses() throws Exception {
+        final String otherProcessesPath = ProcessService.PROCESSES_TEMPLATE.expand("OTHER_ID").toString();
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/gdc")
+            .respond()
+                .withBody(readFromResource("/gdc/gdc.json"));
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPath(startsWith("/uploads/"))
+            .respond()
+                .withStatus(201);
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPath(startsWith("/uploads/"))
+            .respond()
+                .withStatus(204);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(PROCESSES_PATH)
+            .respond()
+                .withBody(readFromResource("/dataload/processes/processes.json"));
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/gdc/PROJECT_ID/projectId/dataload/processes/processId")
+            .respond()
+                .withBody(readFromResource("/dataload/processes/process.json"));
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(otherProcessesPath)
+            .respond()
+                .withBody("{\"processes\":{\"items\":[]}}");
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(otherProcessesPath)
+            .respond()
+                .withStatus(500);
+
+        final Project other = OBJECT_MAPPER.readValue(IOUtils.toString(readFromResource("/project/project.json"),
+                StandardCharsets.UTF_8).replace("PROJECT_ID", "OTHER_ID"), Project.class);
+        final BulkResult<DataloadProcess> result = gd.getProcessService().deployProcesses(
+                asList(project, other, project), new DataloadProcess("testProcess", "GROOVY"), file, 2);
+
+        assertThat(result.isSuccessful(), is(false));
+        assertThat(result.getResults(), hasSize(2));
+        assertThat(result.getResults().get(0).getProject(), is(project));
+        assertThat(result.getResults().get(0).getResult().getName(), is("testProcess"));
+        assertThat(result.getFailedResults(), hasSize(1));
+        assertThat(result.getFailedResults().get(0).getProject(), is(other));
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPath(startsWith("/uploads/")).receivedOnce();
+        verifyThatRequest().havingMethodEqualTo("DELETE").havingPath(startsWith("/uploads/")).receivedOnce();
+        verifyThatRequest().havingMethodEqualTo("PUT").havingBody(containsString("\"path\":\"/uploads/process"))
+                .receivedOnce();
+    }
+
     @Test
     public void shouldCreateProcessWithoutData() throws Exception {
         onRequest()
@@ -209,6 +317,79 @@ public class ProcessServiceIT extends AbstractGoodDataIT {
         assertJsonEquals(readObjectFromResource("/dataload/processes/executionDetail-success.json", ProcessExecutionDetail.class), executionDetail);
     }
 
+    @Test
+    public void shouldTailExecutionLog() throws Exception {
+        final String logPath = stubExecutionWithLog();
+
+        final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        gd.getProcessService().executeProcess(new ProcessExecution(process, "test.groovy"),
+                chunk -> log.write(chunk, 0, chunk.length)).get();
+
+        assertThat(new String(log.toByteArray(), StandardCharsets.UTF_8), is("first\nsecond\n"));
+        verifyThatRequest().havingPathEqualTo(logPath).receivedTimes(3);
+    }
+
+    @Test
+    public void shouldIgnoreFailingLogConsumer() throws Exception {
+        final String logPath = stubExecutionWithLog();
+
+        final ProcessExecutionDetail detail = gd.getProcessService().executeProcess(
+                new ProcessExecution(process, "test.groovy"),
+                chunk -> {
+                    throw new IllegalStateException("consumer failure");
+                }).get();
+
+        assertThat(detail.getStatus(), is("OK"));
+        verifyThatRequest().havingPathEqualTo(logPath).receivedTimes(3);
+    }
+
+    private String stubExecutionWithLog() {
+        final String logPath = EXECUTION_PATH + "/log";
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(EXECUTIONS_PATH)
+            .respond()
+                .withBody(readFromResource("/dataload/processes/executionTask.json"))
+                .withHeader("Location", EXECUTION_PATH)
+                .withStatus(201);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(EXECUTION_PATH)
+            .respond()
+                .withStatus(202)
+            .thenRespond()
+                .withStatus(202)
+            .thenRespond()
+                .withStatus(204);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(EXECUTION_DETAIL_PATH)
+            .respond()
+                .withBody(readFromResource("/dataload/processes/executionDetail-success.json"))
+                .withStatus(200);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(logPath)
+                .havingHeaderEqualTo("Range", "bytes=0-")
+            .respond()
+                .withBody("first\n")
+                .withStatus(206);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(logPath)
+                .havingHeaderEqualTo("Range", "bytes=6-")
+            .respond()
+                .withBody("second\n")
+                .withStatus(206);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(logPath)
+                .havingHeaderEqualTo("Range", "bytes=13-")
+            .respond()
+                .withStatus(416);
+        return logPath;
+    }
+
     @Test(expectedExceptions = ProcessExecutionException.class)
     public void shouldThrowOnExecuteProcessError() throws Exception {
         onRequest()
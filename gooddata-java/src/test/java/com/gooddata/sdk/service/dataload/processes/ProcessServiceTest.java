@@ -12,6 +12,7 @@ import com.gooddata.sdk.common.GoodDataRestException;
 import com.gooddata.sdk.service.GoodDataSettings;
 import com.gooddata.sdk.model.account.Account;
 import com.gooddata.sdk.service.account.AccountService;
+import com.gooddata.sdk.service.bulk.BulkResult;
 import com.gooddata.sdk.service.gdc.DataStoreService;
 import com.gooddata.sdk.model.project.Project;
 import org.mockito.ArgumentCaptor;
@@ -39,11 +40,13 @@ import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static java.lang.String.format;
 import static java.net.URI.create;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -124,6 +127,27 @@ public class ProcessServiceTest {
         verify(dataStoreService).upload(anyString(), notNull(InputStream.class));
     }
 
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldRejectDeploymentOfProcessWithoutName() throws Exception {
+        final DataloadProcess process = mock(DataloadProcess.class);
+
+        processService.deployProcesses(singletonList(project), process, createProcessOfSize(1));
+    }
+
+    @Test
+    public void shouldReportUnexpectedDeploymentFailurePerProject() throws Exception {
+        when(dataStoreService.getUri(anyString())).thenReturn(create("URI"));
+        when(restTemplate.getForObject(any(URI.class), eq(DataloadProcesses.class)))
+                .thenThrow(new IllegalStateException("unexpected"));
+
+        final BulkResult<DataloadProcess> result = processService.deployProcesses(singletonList(project),
+                new DataloadProcess("test", ProcessType.GRAPH), createProcessOfSize(1));
+
+        assertThat(result.getFailedResults(), hasSize(1));
+        assertThat(result.getFailedResults().get(0).getError(), instanceOf(IllegalStateException.class));
+        verify(dataStoreService).delete(anyString());
+    }
+
     private static File createProcessOfSize(int size) throws Exception {
         final Random r = new Random();
         final File file = File.createTempFile("process", ".txt");
@@ -6,6 +6,7 @@
 package com.gooddata.sdk.service.dataset;
 
 import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.FutureResult;
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.model.dataset.*;
 import com.gooddata.sdk.model.gdc.AboutLinks.Link;
@@ -18,12 +19,22 @@ import org.testng.annotations.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.fail;
@@ -100,6 +111,99 @@ public class DatasetServiceIT extends AbstractGoodDataIT {
 
     }
 
+    @Test
+    public void shouldUploadDatasetsConcurrently() throws Exception {
+        onRequest()
+                .havingPathEqualTo("/gdc/md/PROJECT/tasks/task/ID/status")
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/dataset/pullTaskStatusOk.json"));
+
+        final DatasetManifest person = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        person.setSource(new ByteArrayInputStream(new byte[]{1}));
+        final DatasetManifest other = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        other.setFile("other.csv");
+        other.setSource(new ByteArrayInputStream(new byte[]{2}));
+
+        gd.getDatasetService().loadDatasets(project, person, other).get();
+
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPath(startsWith("/uploads/")).receivedTimes(3);
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPath(endsWith("/other.csv")).receivedOnce();
+    }
+
+    @Test
+    public void shouldWriteDataset() throws Exception {
+        onRequest()
+                .havingPathEqualTo("/gdc/md/PROJECT/tasks/task/ID/status")
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/dataset/pullTaskStatusOk.json"));
+
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        final DatasetWriter writer = gd.getDatasetService().openDatasetWriter(project, manifest);
+        writer.writeRow(new BigDecimal("42.0"), OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC),
+                "R&D, \"Prague\"");
+        writer.writeRow(singletonMap("attr.person.xdepartment", "IT"));
+        writer.finish().get();
+
+        verifyThatRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPath(endsWith("/dataset.person.csv"))
+                .havingBodyEqualTo("f_person.f_shoesize,date,d_person_department.nm_xdepartment\r\n"
+                        + "42.0,2020-01-02T03:04:05+0000,\"R&D, \"\"Prague\"\"\"\r\n"
+                        + ",,IT\r\n")
+            .receivedOnce();
+    }
+
+    @Test
+    public void shouldNotLoadAbortedDatasetWriter() throws Exception {
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        try (DatasetWriter writer = gd.getDatasetService().openDatasetWriter(project, manifest)) {
+            writer.writeRow(1, null, "IT");
+        }
+
+        verifyThatRequest().havingMethodEqualTo("POST").havingPathEqualTo("/gdc/md/PROJECT_ID/etl/pull2").receivedNever();
+    }
+
+    @Test
+    public void shouldLoadDatasetIncrementallyPastWatermark() throws Exception {
+        onRequest()
+                .havingPathEqualTo("/gdc/md/PROJECT/tasks/task/ID/status")
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/dataset/pullTaskStatusOk.json"));
+
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        final List<Map<String, ?>> rows = asList(person(1, "HR"), person(2, "IT"), person(3, "R&D"));
+        final FutureResult<Integer> result = gd.getDatasetService().loadDatasetIncrementally(project, manifest, rows,
+                row -> (Integer) row.get("fact.person.shoesize"), 1);
+
+        assertThat(result.get(), is(3));
+        verifyThatRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPath(endsWith("/dataset.person.csv"))
+                .havingBodyEqualTo("f_person.f_shoesize,date,d_person_department.nm_xdepartment\r\n"
+                        + "2,,IT\r\n3,,R&D\r\n")
+            .receivedOnce();
+        verifyThatRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPath(endsWith("/upload_info.json"))
+                .havingBody(allOf(containsString("INCREMENTAL"), not(containsString("FULL"))))
+            .receivedOnce();
+        assertThat(manifest.getParts().get(0).getUploadMode(), is(UploadMode.FULL.name()));
+    }
+
+    @Test
+    public void shouldNotLoadDatasetWithoutRowsPastWatermark() throws Exception {
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        final FutureResult<Integer> result = gd.getDatasetService().loadDatasetIncrementally(project, manifest,
+                singletonList(person(1, "HR")), row -> (Integer) row.get("fact.person.shoesize"), 1);
+
+        assertThat(result.isDone(), is(true));
+        assertThat(result.get(), is(1));
+        verifyThatRequest().havingMethodEqualTo("PUT").receivedNever();
+    }
+
     @Test(expectedExceptions = DatasetException.class, expectedExceptionsMessageRegExp = ".*dataset.person.*Unable to load.*")
     public void shouldFailPolling() throws Exception {
         onRequest()
@@ -312,4 +416,11 @@ public class DatasetServiceIT extends AbstractGoodDataIT {
         assertThat(uploadStatistics, notNullValue());
         assertThat(uploadStatistics.getUploadsCount("OK"), is(845));
     }
-}
\ No newline at end of file
+
+    private static Map<String, ?> person(final int shoeSize, final String department) {
+        final Map<String, Object> person = new HashMap<>();
+        person.put("fact.person.shoesize", shoeSize);
+        person.put("attr.person.xdepartment", department);
+        return person;
+    }
+}
@@ -13,6 +13,7 @@ import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.GoodDataSettings;
 import com.gooddata.sdk.service.gdc.DataStoreException;
 import com.gooddata.sdk.service.gdc.DataStoreService;
+import com.gooddata.sdk.service.util.ZippingInputStream;
 import org.hamcrest.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -23,14 +24,27 @@ import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.testng.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.endsWith;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DatasetServiceTest {
@@ -119,6 +133,79 @@ public class DatasetServiceTest {
         service.loadDatasets(project, manifest);
     }
 
+    @Test
+    public void testLoadDatasetsDeletesStagingDirectoryWhenUploadFails() {
+        final DatasetManifest other = mock(DatasetManifest.class);
+        final InputStream otherStream = mock(InputStream.class);
+        when(manifest.getFile()).thenReturn("dataset.csv");
+        when(manifest.getSource()).thenReturn(stream);
+        when(manifest.getDataSet()).thenReturn(DATASET_ID);
+        when(other.getFile()).thenReturn("other.csv");
+        when(other.getSource()).thenReturn(otherStream);
+        when(other.getDataSet()).thenReturn("other");
+        doThrow(DataStoreException.class).when(dataStoreService).upload(anyString(), eq(otherStream));
+
+        try {
+            service.loadDatasets(project, manifest, other);
+            fail("Exception should be thrown");
+        } catch (DatasetException e) {
+            assertThat(e.getDatasets(), contains(DATASET_ID, "other"));
+        }
+        verify(dataStoreService).delete(startsWith("/" + PROJECT_ID + "_"));
+        verify(dataStoreService, never()).upload(endsWith("upload_info.json"), any(InputStream.class));
+    }
+
+    @Test
+    public void testLoadDatasetsDeletesStagingDirectoryAfterRunningUploads() {
+        final DatasetManifest person = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        final DatasetManifest manifest = new DatasetManifest(DATASET_ID, "dataset.csv", person.getParts());
+        manifest.setSource(stream);
+        final InputStream otherStream = mock(InputStream.class);
+        final DatasetManifest other = new DatasetManifest("other", "other.csv", person.getParts());
+        other.setSource(otherStream);
+        final AtomicBoolean uploaded = new AtomicBoolean();
+        doAnswer(invocation -> {
+            // blocking upload not reacting to the interruption
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+            while (System.nanoTime() < end) {
+                Thread.yield();
+            }
+            uploaded.set(true);
+            return null;
+        }).when(dataStoreService).upload(anyString(), eq(stream));
+        doThrow(DataStoreException.class).when(dataStoreService).upload(anyString(), eq(otherStream));
+        final AtomicBoolean deletedAfterUpload = new AtomicBoolean();
+        doAnswer(invocation -> {
+            deletedAfterUpload.set(uploaded.get());
+            return null;
+        }).when(dataStoreService).delete(anyString());
+
+        try {
+            service.loadDatasets(project, manifest, other);
+            fail("Exception should be thrown");
+        } catch (DatasetException ignored) {
+        }
+        assertThat(deletedAfterUpload.get(), is(true));
+    }
+
+    @Test
+    public void testLoadDatasetsUploadsArchiveWhenCompressed() {
+        final GoodDataSettings settings = new GoodDataSettings();
+        settings.setCompressUploads(true);
+        service = new DatasetService(restTemplate, dataStoreService, settings);
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        manifest.setSource(stream);
+        doThrow(DataStoreException.class).when(dataStoreService).upload(anyString(), any(InputStream.class));
+
+        try {
+            service.loadDatasets(project, manifest);
+            fail("Exception should be thrown");
+        } catch (DatasetException ignored) {
+        }
+        verify(dataStoreService).upload(endsWith("/upload.zip"), any(ZippingInputStream.class));
+        verify(dataStoreService, never()).upload(endsWith(manifest.getFile()), any(InputStream.class));
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testLoadDatasetByIdWithNullProject() {
         service.loadDataset(null, DATASET_ID, stream);
@@ -6,6 +6,9 @@
 package com.gooddata.sdk.service.gdc;
 
 import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.GoodDataSettings;
+import com.gooddata.sdk.service.PollBackoffStrategy;
+import net.jadler.stubbing.RequestStubbing;
 import org.apache.commons.io.IOUtils;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -13,15 +16,30 @@ import org.testng.annotations.Test;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
 import static net.jadler.Jadler.onRequest;
 import static net.jadler.Jadler.port;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.testng.Assert.fail;
 
 public class DataStoreServiceIT extends AbstractGoodDataIT {
 
     private InputStream content;
 
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings();
+        settings.setPartUploadBackoffStrategy(PollBackoffStrategy.fixed(0));
+        return settings;
+    }
+
     @BeforeMethod
     public void setUp() throws Exception {
         onRequest()
@@ -62,4 +80,287 @@ public class DataStoreServiceIT extends AbstractGoodDataIT {
         gd.getDataStoreService().upload("/test", content);
     }
 
+    @Test
+    public void shouldUploadFile() throws Exception {
+        gd.getDataStoreService().upload("/test", file("0123456789"));
+
+        verifyThatRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/test")
+                .havingBodyEqualTo("0123456789")
+                .havingHeaderEqualTo("Content-Length", "10")
+            .receivedOnce();
+    }
+
+    @Test
+    public void shouldUploadInParts() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(201);
+        onPropfind("/uploads/big")
+            .respond()
+                .withStatus(207)
+                .withContentType("application/xml")
+                .withBody(multistatus("/uploads/big", 8));
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, false);
+
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPathEqualTo("/uploads/big").receivedTimes(3);
+        verifyThatRequest().havingBodyEqualTo("0123").havingHeader("Content-Range", nullValue()).receivedOnce();
+        verifyThatRequest().havingBodyEqualTo("4567").havingHeaderEqualTo("Content-Range", "bytes 4-7/10").receivedOnce();
+        verifyThatRequest().havingBodyEqualTo("89").havingHeaderEqualTo("Content-Range", "bytes 8-9/10").receivedOnce();
+    }
+
+    @Test
+    public void shouldRetryFailedPart() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(201);
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+                .havingHeaderEqualTo("Content-Range", "bytes 4-7/10")
+            .respond()
+                .withStatus(503)
+                .withHeader("Retry-After", "0")
+            .thenRespond()
+                .withStatus(201);
+        onPropfind("/uploads/big")
+            .respond()
+                .withStatus(207)
+                .withContentType("application/xml")
+                .withBody(multistatus("/uploads/big", 8));
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, false);
+
+        verifyThatRequest().havingHeaderEqualTo("Content-Range", "bytes 4-7/10").receivedTimes(2);
+    }
+
+    @Test
+    public void shouldUploadWholeFileWhenRangeRejected() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(201);
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+                .havingHeader("Content-Range")
+            .respond()
+                .withStatus(400);
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, false);
+
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPathEqualTo("/uploads/big").receivedTimes(3);
+        verifyThatRequest().havingHeader("Content-Range").receivedOnce();
+        verifyThatRequest().havingBodyEqualTo("0123456789").havingHeader("Content-Range", nullValue()).receivedOnce();
+    }
+
+    @Test
+    public void shouldUploadWholeFileWhenPartNotAppended() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(201);
+        onPropfind("/uploads/big")
+            .respond()
+                .withStatus(207)
+                .withContentType("application/xml")
+                .withBody(multistatus("/uploads/big", 4));
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, false);
+
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPathEqualTo("/uploads/big").receivedTimes(3);
+        verifyThatRequest().havingBodyEqualTo("0123456789").havingHeader("Content-Range", nullValue()).receivedOnce();
+    }
+
+    @Test
+    public void shouldResumeUpload() throws Exception {
+        onPropfind("/uploads/big")
+            .respond()
+                .withStatus(207)
+                .withContentType("application/xml")
+                .withBody(multistatus("/uploads/big", 6))
+            .thenRespond()
+                .withStatus(207)
+                .withContentType("application/xml")
+                .withBody(multistatus("/uploads/big", 8));
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(201);
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, true);
+
+        verifyThatRequest().havingMethodEqualTo("PUT").havingPathEqualTo("/uploads/big").receivedTimes(2);
+        verifyThatRequest().havingBodyEqualTo("4567").havingHeaderEqualTo("Content-Range", "bytes 4-7/10").receivedOnce();
+    }
+
+    @Test(expectedExceptions = DataStoreException.class, expectedExceptionsMessageRegExp = ".*can be resumed.*")
+    public void shouldFailPartUpload() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(500);
+
+        gd.getDataStoreService().uploadInParts("/big", file("0123456789"), 4, false);
+    }
+
+    @Test
+    public void shouldDownloadInRanges() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("HEAD")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "bytes")
+                .withHeader("Content-Length", "10");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+                .havingHeaderEqualTo("Range", "bytes=0-3")
+            .respond()
+                .withStatus(206)
+                .withBody("0123");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+                .havingHeaderEqualTo("Range", "bytes=4-7")
+            .respond()
+                .withStatus(206)
+                .withBody("4567");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+                .havingHeaderEqualTo("Range", "bytes=8-9")
+            .respond()
+                .withStatus(206)
+                .withBody("89");
+
+        final Path target = file("previous content");
+        gd.getDataStoreService().download("/big", target, 3);
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), is("0123456789"));
+        verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo("/uploads/big").receivedTimes(3);
+    }
+
+    @Test
+    public void shouldDownloadSequentiallyWhenRangesNotSupported() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("HEAD")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withBody("0123456789");
+
+        final Path target = file("");
+        gd.getDataStoreService().download("/big", target, 3);
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), is("0123456789"));
+        verifyThatRequest().havingPathEqualTo("/uploads/big").havingHeader("Range", nullValue()).receivedTimes(2);
+    }
+
+    @Test
+    public void shouldDownloadSequentiallyWhenRangeIgnored() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("HEAD")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "bytes")
+                .withHeader("Content-Length", "10");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withBody("0123456789");
+
+        final Path target = file("");
+        gd.getDataStoreService().download("/big", target, 2);
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), is("0123456789"));
+        verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo("/uploads/big").havingHeader("Range", nullValue())
+                .receivedOnce();
+    }
+
+    @Test
+    public void shouldDownloadSequentiallyWhenHeadFails() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("HEAD")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(405);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withBody("0123456789");
+
+        final Path target = file("");
+        gd.getDataStoreService().download("/big", target, 3);
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8), is("0123456789"));
+        verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo("/uploads/big").havingHeader("Range", nullValue())
+                .receivedOnce();
+    }
+
+    @Test
+    public void shouldDeleteTargetWhenDownloadFails() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("HEAD")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(200)
+                .withHeader("Accept-Ranges", "bytes")
+                .withHeader("Content-Length", "10");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/uploads/big")
+            .respond()
+                .withStatus(206)
+                .withBody("01");
+
+        final Path target = file("previous content");
+        try {
+            gd.getDataStoreService().download("/big", target, 2);
+            fail("Download should fail");
+        } catch (DataStoreException e) {
+            assertThat(Files.exists(target), is(false));
+        }
+    }
+
+    private static RequestStubbing onPropfind(final String path) {
+        return onRequest()
+                .havingMethodEqualTo("PROPFIND")
+                .havingPathEqualTo(path);
+    }
+
+    private static String multistatus(final String href, final long contentLength) {
+        return "<?xml version=\"1.0\" encoding=\"utf-8\"?><d:multistatus xmlns:d=\"DAV:\"><d:response>"
+                + "<d:href>" + href + "</d:href><d:propstat><d:prop><d:getcontentlength>" + contentLength
+                + "</d:getcontentlength></d:prop><d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>"
+                + "</d:multistatus>";
+    }
+
+    private static Path file(final String content) throws Exception {
+        final Path file = Files.createTempFile("upload", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
 }
\ No newline at end of file
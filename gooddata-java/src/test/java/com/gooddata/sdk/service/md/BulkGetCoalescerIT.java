@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Dataset;
+import com.gooddata.sdk.model.md.Fact;
+import com.gooddata.sdk.model.md.Metric;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class BulkGetCoalescerIT extends AbstractGoodDataIT {
+
+    private static final String BULK_GET_URI = "/gdc/md/PROJECT_ID/objects/get";
+    private static final String METRIC_URI = "/gdc/md/PROJECT_ID/obj/METRIC_ID";
+    private static final String FACT_URI = "/gdc/md/PROJECT_ID/obj/FACT_ID";
+    private static final String DATASET_URI = "/gdc/md/PROJECT_ID/obj/DATASET_ID";
+
+    private BulkGetCoalescer coalescer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        coalescer = new BulkGetCoalescer(gd.getMetadataService(), 100, TimeUnit.MILLISECONDS, 10);
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(BULK_GET_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/bulk-get.json"));
+    }
+
+    @AfterMethod
+    public void shutdown() throws Exception {
+        coalescer.shutdown();
+    }
+
+    @Test
+    public void shouldCoalesceLookups() throws Exception {
+        final CompletableFuture<Metric> metric = coalescer.getObjByUriAsync(METRIC_URI, Metric.class);
+        final CompletableFuture<Fact> fact = coalescer.getObjByUriAsync(FACT_URI, Fact.class);
+        final CompletableFuture<Metric> sameMetric = coalescer.getObjByUriAsync(METRIC_URI, Metric.class);
+        final Dataset dataset = coalescer.getObjByUri(DATASET_URI, Dataset.class);
+
+        assertThat(dataset.getTitle(), is("Date (Org minDate-first deal)"));
+        assertThat(fact.get().getTitle(), is("Person Shoe Size"));
+        assertThat(metric.get().getUri(), is(METRIC_URI));
+        assertThat(sameMetric.get().getUri(), is(METRIC_URI));
+        assertThat(sameMetric.get(), is(not(sameInstance(metric.get()))));
+        verifyThatRequest().havingPathEqualTo(BULK_GET_URI).receivedOnce();
+    }
+
+    @Test
+    public void shouldFlushFullBatch() throws Exception {
+        coalescer.shutdown();
+        coalescer = new BulkGetCoalescer(gd.getMetadataService(), 1, TimeUnit.HOURS, 2);
+
+        final CompletableFuture<Metric> metric = coalescer.getObjByUriAsync(METRIC_URI, Metric.class);
+        final Fact fact = coalescer.getObjByUri(FACT_URI, Fact.class);
+
+        assertThat(fact.getUri(), is(FACT_URI));
+        assertThat(metric.get().getUri(), is(METRIC_URI));
+    }
+
+    @Test(expectedExceptions = ObjNotFoundException.class)
+    public void shouldFailMissingObj() throws Exception {
+        coalescer.getObjByUri("/gdc/md/PROJECT_ID/obj/MISSING_ID", Metric.class);
+    }
+
+    @Test(expectedExceptions = ObjNotFoundException.class)
+    public void shouldFailObjOfOtherClass() throws Exception {
+        coalescer.getObjByUri(FACT_URI, Metric.class);
+    }
+}
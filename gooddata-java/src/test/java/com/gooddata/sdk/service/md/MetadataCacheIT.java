@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.BulkGet;
+import com.gooddata.sdk.model.md.Metric;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.GoodDataSettings;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static com.gooddata.sdk.common.util.ResourceUtils.readStringFromResource;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MetadataCacheIT extends AbstractGoodDataIT {
+
+    private static final String OBJ_URI = "/gdc/md/PROJECT_ID/obj/ID";
+    private static final String METRIC_URI = "/gdc/md/PROJECT_ID/obj/METRIC_ID";
+    private static final String UPDATED_URI = "/gdc/md/PROJECT_ID/obj/DF_ID";
+    private static final String ETAG = "\"etag\"";
+
+    private boolean expired;
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings();
+        expired = false;
+        settings.setMetadataCache(new ExpiringCache());
+        return settings;
+    }
+
+    @Test
+    public void shouldServeCachedObj() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/metric.json"));
+
+        final Metric first = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        final Metric second = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        assertThat(second.getTitle(), is("Person Name"));
+        assertThat(second, is(not(sameInstance(first))));
+        verifyThatRequest().havingPathEqualTo(OBJ_URI).receivedOnce();
+    }
+
+    @Test
+    public void shouldServeCachedObjWithUnknownProperty() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readStringFromResource("/md/metric.json")
+                        .replace("\"content\" : {", "\"content\" : { \"unknown\" : 1,"));
+
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        final Metric result = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        assertThat(result.getTitle(), is("Person Name"));
+        verifyThatRequest().havingPathEqualTo(OBJ_URI).receivedOnce();
+    }
+
+    @Test
+    public void shouldRevalidateExpiredObj() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+                .havingHeaderEqualTo("If-None-Match", ETAG)
+            .respond()
+                .withStatus(304);
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withHeader("ETag", ETAG)
+                .withBody(readFromResource("/md/metric.json"));
+
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        expired = true;
+        final Metric result = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        assertThat(result.getTitle(), is("Person Name"));
+        verifyThatRequest().havingPathEqualTo(OBJ_URI).receivedTimes(2);
+        verifyThatRequest().havingPathEqualTo(OBJ_URI).havingHeaderEqualTo("If-None-Match", ETAG).receivedOnce();
+    }
+
+    @Test
+    public void shouldInvalidateRemovedObj() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/metric.json"));
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(204);
+
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        gd.getMetadataService().removeObjByUri(OBJ_URI);
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo(OBJ_URI).receivedTimes(2);
+    }
+
+    @Test
+    public void shouldInvalidateUpdatedObj() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(UPDATED_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/metric.json"));
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo(UPDATED_URI)
+            .respond()
+                .withStatus(200);
+
+        final Metric metric = gd.getMetadataService().getObjByUri(UPDATED_URI, Metric.class);
+        gd.getMetadataService().updateObj(metric);
+        gd.getMetadataService().getObjByUri(UPDATED_URI, Metric.class);
+
+        verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo(UPDATED_URI).receivedTimes(2);
+    }
+
+    @Test
+    public void shouldShareCacheWithBulkGetCoalescer() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(BulkGet.URI.replace("{projectId}", "PROJECT_ID"))
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/bulk-get.json"));
+        final BulkGetCoalescer coalescer = new BulkGetCoalescer(gd.getMetadataService());
+        try {
+            coalescer.getObjByUri(METRIC_URI, Metric.class);
+            final Metric coalesced = coalescer.getObjByUri(METRIC_URI, Metric.class);
+            final Metric result = gd.getMetadataService().getObjByUri(METRIC_URI, Metric.class);
+
+            assertThat(coalesced.getUri(), is(METRIC_URI));
+            assertThat(result.getUri(), is(METRIC_URI));
+            verifyThatRequest().havingMethodEqualTo("POST").receivedOnce();
+            verifyThatRequest().havingMethodEqualTo("GET").havingPathEqualTo(METRIC_URI).receivedNever();
+        } finally {
+            coalescer.shutdown();
+        }
+    }
+
+    private class ExpiringCache implements MetadataCache {
+        private final MetadataCache delegate = MetadataCache.lru(10, 1, TimeUnit.HOURS);
+
+        @Override
+        public CachedObj get(final String uri) {
+            final CachedObj cached = delegate.get(uri);
+            if (cached == null || !expired) {
+                return cached;
+            }
+            return new CachedObj(cached.getBody(), cached.getETag(), cached.getLastModified(), 0);
+        }
+
+        @Override
+        public void put(final String uri, final String body, final String eTag, final String lastModified) {
+            expired = false;
+            delegate.put(uri, body, eTag, lastModified);
+        }
+
+        @Override
+        public void remove(final String uri) {
+            delegate.remove(uri);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+    }
+}
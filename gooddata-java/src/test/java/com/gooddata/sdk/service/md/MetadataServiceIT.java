@@ -5,6 +5,8 @@
  */
 package com.gooddata.sdk.service.md;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gooddata.sdk.service.AbstractGoodDataIT;
 import com.gooddata.sdk.model.gdc.UriResponse;
 import com.gooddata.sdk.model.md.*;
@@ -16,6 +18,7 @@ import org.testng.annotations.Test;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
@@ -25,6 +28,7 @@ import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
 import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -122,6 +126,31 @@ public class MetadataServiceIT extends AbstractGoodDataIT {
         assertThat(metric.getTitle(), is("Person Name"));
     }
 
+    @Test
+    public void testStreamObjsByUrisInChunks() throws Exception {
+        final JsonNode items = OBJECT_MAPPER.readTree(readFromResource("/md/bulk-get.json")).path("objects").path("items");
+        for (final JsonNode item : items) {
+            final String uri = item.elements().next().path("meta").path("uri").textValue();
+            final ObjectNode response = OBJECT_MAPPER.createObjectNode();
+            response.putObject("objects").putArray("items").add(item);
+            onRequest()
+                    .havingMethodEqualTo("POST")
+                    .havingPathEqualTo(BULK_GET_URI)
+                    .havingBody(containsString(uri))
+                .respond()
+                    .withStatus(200)
+                    .withBody(OBJECT_MAPPER.writeValueAsString(response));
+        }
+
+        final List<String> uris = gd.getMetadataService()
+                .streamObjsByUris(project, asList(METRIC_URL, DATASET_URL, FACT_URL), 1, 2)
+                .map(Obj::getUri)
+                .collect(Collectors.toList());
+
+        assertThat(uris, contains(METRIC_URL, DATASET_URL, FACT_URL));
+        verifyThatRequest().havingPathEqualTo(BULK_GET_URI).receivedTimes(3);
+    }
+
     @Test
     public void testUsedByBatch() throws Exception {
         final UseMany useMany = OBJECT_MAPPER
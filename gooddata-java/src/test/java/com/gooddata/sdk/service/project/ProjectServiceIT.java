@@ -27,6 +27,8 @@ import org.testng.annotations.Test;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
@@ -39,10 +41,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.testng.Assert.fail;
 
 public class ProjectServiceIT extends AbstractGoodDataIT {
 
@@ -94,6 +98,48 @@ public class ProjectServiceIT extends AbstractGoodDataIT {
         assertThat(project.getTitle(), is("TITLE"));
     }
 
+    @Test
+    public void shouldCreateProjectAsync() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(Projects.URI)
+                .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(new UriResponse(PROJECT_URI)))
+                .withStatus(202)
+        ;
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(PROJECT_URI)
+            .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(loading))
+                .withStatus(202)
+            .thenRespond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(enabled))
+                .withStatus(200)
+        ;
+
+        final Project project = gd.getProjectService().createProjectAsync(new Project("TITLE", "AUTH_TOKEN")).get();
+        assertThat(project, is(notNullValue()));
+        assertThat(project.getTitle(), is("TITLE"));
+    }
+
+    @Test
+    public void shouldFailCreateProjectAsyncWhenPostFails() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(Projects.URI)
+            .respond()
+                .withStatus(400)
+        ;
+        final CompletableFuture<Project> future = gd.getProjectService().createProjectAsync(new Project("TITLE", "AUTH_TOKEN"));
+        try {
+            future.get();
+            fail("Expected failure of project creation");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(GoodDataException.class)));
+        }
+    }
+
     @Test(expectedExceptions = GoodDataException.class)
     public void shouldFailWhenPostFails() {
         onRequest()
@@ -9,6 +9,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import org.apache.commons.io.FileUtils;
+import org.springframework.util.StreamUtils;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -17,9 +18,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Random;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -98,6 +102,49 @@ public class ZipHelperTest {
         }
     }
 
+    @Test
+    public void shouldOpenZipStreamOfDirWithoutRoot() throws Exception {
+        Path toZipDir = temporaryFolder.resolve("toStream");
+        File toZipFile = toZipDir.resolve(SOME_FILE_PATH).toFile();
+        toZipFile.getParentFile().mkdirs();
+        Files.write(toZipFile.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream();
+             InputStream input = ZipHelper.openZipStream(toZipDir.toFile())) {
+            StreamUtils.copy(input, output);
+            output.close();
+            verifyZipContent(output, Paths.get("a", "b", SOME_FILE).toString());
+            assertThat(ZipHelper.estimateZipSize(toZipDir.toFile()), greaterThanOrEqualTo((long) output.size()));
+        }
+    }
+
+    @Test
+    public void shouldOpenZipStreamOfAlreadyZipped() throws Exception {
+        final File file = temporaryFolder.resolve(SOME_FILE).toFile();
+        file.createNewFile();
+        final File zipped = temporaryFolder.resolve("streamed.zip").toFile();
+        try (FileOutputStream zipStream = new FileOutputStream(zipped)) {
+            ZipHelper.zip(file, zipStream);
+        }
+
+        try (InputStream input = ZipHelper.openZipStream(zipped)) {
+            assertThat(StreamUtils.copyToByteArray(input), is(Files.readAllBytes(zipped.toPath())));
+        }
+        assertThat(ZipHelper.estimateZipSize(zipped), is(zipped.length()));
+    }
+
+    @Test
+    public void shouldEstimateZipSizeOfIncompressibleFile() throws Exception {
+        final File file = temporaryFolder.resolve("random.bin").toFile();
+        final byte[] content = new byte[100_000];
+        new Random(42).nextBytes(content);
+        Files.write(file.toPath(), content);
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            ZipHelper.zip(file, output);
+            output.close();
+            assertThat(ZipHelper.estimateZipSize(file), greaterThanOrEqualTo((long) output.size()));
+        }
+    }
+
     private static void verifyZipContent(ByteArrayOutputStream zip, String shouldContain) throws Exception {
         try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
             ZipEntry entry = zipInputStream.getNextEntry();
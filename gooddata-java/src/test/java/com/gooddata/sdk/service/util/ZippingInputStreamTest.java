@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2004-2020, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.StreamUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ZippingInputStreamTest {
+
+    @Test
+    public void shouldZipEntriesOnTheFly() throws Exception {
+        final byte[] large = new byte[1024 * 1024];
+        new Random(42).nextBytes(large);
+        final Map<String, InputStreamSource> entries = new LinkedHashMap<>();
+        entries.put("upload_info.json", new ByteArrayResource("{}".getBytes(UTF_8)));
+        entries.put("dataset.csv", new ByteArrayResource(large));
+
+        final byte[] archive = StreamUtils.copyToByteArray(new ZippingInputStream(entries));
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertThat(entry.getName(), is("upload_info.json"));
+            assertThat(StreamUtils.copyToString(zip, UTF_8), is("{}"));
+            entry = zip.getNextEntry();
+            assertThat(entry.getName(), is("dataset.csv"));
+            assertThat(StreamUtils.copyToByteArray(zip), is(large));
+            assertThat(zip.getNextEntry(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldCompress() throws Exception {
+        final byte[] csv = new byte[100_000];
+        final byte[] row = "1,foo,bar\n".getBytes(UTF_8);
+        for (int i = 0; i < csv.length; i++) {
+            csv[i] = row[i % row.length];
+        }
+        final Map<String, InputStreamSource> entries = new LinkedHashMap<>();
+        entries.put("dataset.csv", new ByteArrayResource(csv));
+
+        final byte[] archive = StreamUtils.copyToByteArray(new ZippingInputStream(entries));
+
+        assertThat(archive.length, is(lessThan(csv.length / 10)));
+    }
+
+    @Test
+    public void shouldCloseEntries() throws Exception {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Map<String, InputStreamSource> entries = new LinkedHashMap<>();
+        entries.put("dataset.csv", () -> new ByteArrayInputStream(new byte[]{1, 2, 3}) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+
+        try (InputStream stream = new ZippingInputStream(entries)) {
+            StreamUtils.drain(stream);
+        }
+
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void shouldZipNoEntries() throws Exception {
+        final byte[] archive = StreamUtils.copyToByteArray(new ZippingInputStream(new LinkedHashMap<>()));
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            assertThat(zip.getNextEntry(), is(nullValue()));
+        }
+    }
+}